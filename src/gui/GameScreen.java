@@ -251,7 +251,7 @@ public class GameScreen {
                             destTile = tileCoordinate;
                             if(destTile != sourceTile)
                             {
-                                Move move = Move.MoveFactory.createMove(board, pieceMoved.getPosition(), destTile);
+                                Move move = Move.MoveFactory.createMove(board, sourceTile, destTile);
                                 moveTransition = board.getTurn().makeMove(move);
                                 if (moveTransition.getMoveStatus() == MoveStatus.DONE) {
                                     computerMove = moveTransition.getTransitionMove();
@@ -313,7 +313,7 @@ public class GameScreen {
          */
         private void putTilePiece(Board board) {
             this.removeAll();
-            Piece piece = board.board_state.get(tileCoordinate);
+            Piece piece = board.getPieceAtCoordinate(tileCoordinate);
             String PieceIconPath = "resources/";
             if(piece != null) {
                 try {
@@ -336,7 +336,7 @@ public class GameScreen {
             if(tileCoordinate == sourceTile && pieceMoved.getColor() == board.getTurn().getColor())
                 setBackground(greenTileColor);
             // if the tile is the tile of a king under check
-            if(tileCoordinate == board.getTurn().getKing().getPosition() && board.getTurn().isInCheck())
+            if(tileCoordinate == board.getTurn().getKingCoordinate() && board.getTurn().isInCheck())
                 setBackground(redTileColor);
 
         }
@@ -363,7 +363,7 @@ public class GameScreen {
             if(pieceMoved != null) {
                 for (Move move : board.getTurn().getLegalMoves()) {
                     MoveTransition moveTransition = board.getTurn().makeMove(move);
-                    if (pieceMoved == move.getPieceMoved() && move.getCoordinateMovedTo() == this.tileCoordinate
+                    if (sourceTile == move.getCoordinateMovedFrom() && move.getCoordinateMovedTo() == this.tileCoordinate
                     && board.getTurn().getLegalMoves().contains(move) && moveTransition.getMoveStatus() == MoveStatus.DONE) {
                         try {
                             BufferedImage image =
@@ -379,7 +379,7 @@ public class GameScreen {
         }
         private void highlightLastMove() {
             if(computerMove != null) {
-                if(this.tileCoordinate == computerMove.getPieceMoved().getPosition()) {
+                if(this.tileCoordinate == computerMove.getCoordinateMovedFrom()) {
                     setBackground(darkGreenTileColor);
                 }
                 else if(this.tileCoordinate == computerMove.getCoordinateMovedTo()){
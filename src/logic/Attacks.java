@@ -0,0 +1,414 @@
+package logic;
+
+/**
+ * this class contains static methods that find the coordinates a piece attacks from a given coordinate,
+ * the attacks are returned as bitboards
+ * the attacks of the sliding pieces are found with one lookup in magic bitboard tables
+ * @see BitBoard
+ * @see <a href="https://www.chessprogramming.org/Magic_Bitboards"></a>
+ */
+public final class Attacks {
+    // {column, row} directions of every piece
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] KNIGHT_JUMPS = {{1, 2}, {2, 1}, {-1, 2}, {-2, 1}, {1, -2}, {2, -1}, {-1, -2}, {-2, -1}};
+    private static final int[][] KING_STEPS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}, {1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    // the magic numbers of every coordinate, found by a search over sparse random numbers
+    // (for this coordinates order, where 0 is the top left corner)
+    private static final long[] ROOK_MAGIC_NUMBERS = {
+            0xA080001820400080L, 0x0040002000401000L, 0x0180300160008008L, 0x0480040800801001L,
+            0x2A00081084204200L, 0x0480018012003400L, 0x0600010082000428L, 0x420002250C018042L,
+            0x0040800040002080L, 0x000040002000500CL, 0x2002004022001080L, 0x0026002200400810L,
+            0x2000808008000400L, 0x0022000200883104L, 0x2C88808001000200L, 0x1112000080420104L,
+            0x0100908000400020L, 0x0080808020004000L, 0x0008410010200300L, 0x0014808010000801L,
+            0x0080050011004800L, 0x00D1010002080400L, 0x3221540021080210L, 0x1000120005288244L,
+            0x020C400080248002L, 0x4020411200220082L, 0x8028100080200881L, 0x1210001100090020L,
+            0x005A005200084520L, 0x0080040080020080L, 0x00D6002200280401L, 0x440B210A00006884L,
+            0x0880401028800080L, 0x2000802008804000L, 0x2160001041002900L, 0x0800080080801000L,
+            0x0444820400800800L, 0x0000040080800200L, 0x0080028104001028L, 0x2808104102000894L,
+            0x0000800100450024L, 0x0000408102020020L, 0x2000200100110044L, 0x0110040008004040L,
+            0x0000080005010010L, 0x0002001088120044L, 0x0008100208040001L, 0x000100008045002AL,
+            0x0001002040800100L, 0x1602209200490200L, 0x1109100020008880L, 0x5000100100200900L,
+            0x0000040080080080L, 0x0003000204000900L, 0x4220080630035400L, 0x6140801100006080L,
+            0x1009234100800039L, 0x8000201200804102L, 0x5004100822004082L, 0x2802000440100822L,
+            0x0801008408001017L, 0x0002000108041062L, 0x8040121108129044L, 0x0400032411008242L
+    };
+    private static final long[] BISHOP_MAGIC_NUMBERS = {
+            0x01A0C20202002A00L, 0x2320810102008401L, 0x0408820402218000L, 0x10024081010C0040L,
+            0x4104042001041200L, 0x8400902420001100L, 0x001108220220001AL, 0xAA80240208040300L,
+            0x21C8089014080060L, 0x0000020214140090L, 0x0280040C0C104000L, 0x18B0022082084040L,
+            0x4004040420810801L, 0x4448008804402804L, 0x4081091401044000L, 0x20404C8848021008L,
+            0xC251800510100100L, 0x0620200802808200L, 0xA111000206020200L, 0x8001002020408000L,
+            0x0024011084A00006L, 0x202040020110010AL, 0x004A048088042300L, 0x004840A104208C20L,
+            0x0010C82044481000L, 0x0081041208080820L, 0x0040240008004408L, 0x2804010000200880L,
+            0x0504040000410050L, 0x100A008014100090L, 0x8212008007480848L, 0x0021020001328424L,
+            0x0001901000082008L, 0x0A01086000031400L, 0x0030140202440800L, 0x4084820080180480L,
+            0x0081010400C20020L, 0x8010010040020042L, 0x80241804A0360082L, 0x044C009201108440L,
+            0xA104020241301000L, 0x00808C10020B0922L, 0x0012042208000100L, 0x8000004012021041L,
+            0x8082400B02100B00L, 0x0040408808425680L, 0x20621A0441180400L, 0x4022240848808201L,
+            0x0004840120122000L, 0x1000420210420002L, 0xC800404044108100L, 0x4009800A10440000L,
+            0x011D010510440840L, 0x80008A2048408024L, 0x1062024418088201L, 0x3004410809250010L,
+            0x2820818409114080L, 0x0000042402080404L, 0x0200090020841000L, 0x0082090000842408L,
+            0x1010080060024424L, 0x1100600488100100L, 0x0022082204681210L, 0x0140288094008024L
+    };
+
+    // the magic lookup of every coordinate
+    private static final Magic[] ROOK_MAGICS = new Magic[Board.size];
+    private static final Magic[] BISHOP_MAGICS = new Magic[Board.size];
+
+    // the attacks of the leaping pieces from every coordinate, pawn tables are indexed by color and coordinate
+    private static final long[] KNIGHT_ATTACKS = new long[Board.size];
+    private static final long[] KING_ATTACKS = new long[Board.size];
+    private static final long[][] PAWN_ATTACKS = new long[2][Board.size];
+    // the coordinate in front of a pawn
+    private static final long[][] PAWN_PUSHES = new long[2][Board.size];
+
+    // the coordinates between two coordinates on the same row, column or diagonal(not included),
+    // and the full line of the board that goes through them, empty if they are not on the same line
+    private static final long[][] BETWEEN = new long[Board.size][Board.size];
+    private static final long[][] LINE = new long[Board.size][Board.size];
+
+    static {
+        for (int coordinate = 0; coordinate < Board.size; coordinate++) {
+            KNIGHT_ATTACKS[coordinate] = stepAttacks(coordinate, KNIGHT_JUMPS);
+            KING_ATTACKS[coordinate] = stepAttacks(coordinate, KING_STEPS);
+            for (Color color : Color.values()) {
+                int row = color.getDirection();
+                PAWN_ATTACKS[BitBoard.colorIndex(color)][coordinate] = stepAttacks(coordinate, new int[][]{{1, row}, {-1, row}});
+                PAWN_PUSHES[BitBoard.colorIndex(color)][coordinate] = stepAttacks(coordinate, new int[][]{{0, row}});
+            }
+            ROOK_MAGICS[coordinate] = createMagic(coordinate, ROOK_DIRECTIONS, ROOK_MAGIC_NUMBERS[coordinate]);
+            BISHOP_MAGICS[coordinate] = createMagic(coordinate, BISHOP_DIRECTIONS, BISHOP_MAGIC_NUMBERS[coordinate]);
+        }
+        for (int from = 0; from < Board.size; from++) {
+            for (int to = 0; to < Board.size; to++) {
+                long ends = BitBoard.squareMask(from) | BitBoard.squareMask(to);
+                if (from != to && BitBoard.isSet(rookAttacks(from, BitBoard.EMPTY), to)) {
+                    LINE[from][to] = (rookAttacks(from, BitBoard.EMPTY) & rookAttacks(to, BitBoard.EMPTY)) | ends;
+                    BETWEEN[from][to] = rookAttacks(from, BitBoard.squareMask(to)) & rookAttacks(to, BitBoard.squareMask(from));
+                }
+                else if (from != to && BitBoard.isSet(bishopAttacks(from, BitBoard.EMPTY), to)) {
+                    LINE[from][to] = (bishopAttacks(from, BitBoard.EMPTY) & bishopAttacks(to, BitBoard.EMPTY)) | ends;
+                    BETWEEN[from][to] = bishopAttacks(from, BitBoard.squareMask(to)) & bishopAttacks(to, BitBoard.squareMask(from));
+                }
+            }
+        }
+    }
+
+    /**
+     * the magic lookup of a sliding piece on one coordinate,
+     * the relevant occupancy is multiplied by the magic number and shifted to an index in the attacks table
+     */
+    private static final class Magic {
+        // the coordinates that can block the piece(the rays without the edges of the board)
+        private final long mask;
+        private final long magic;
+        private final int shift;
+        private final long[] attacks;
+
+        private Magic(long mask, long magic, int shift, long[] attacks) {
+            this.mask = mask;
+            this.magic = magic;
+            this.shift = shift;
+            this.attacks = attacks;
+        }
+
+        /**
+         * find the attacks of the piece for the given occupancy
+         * @param occupancy the bitboard of all the pieces on the board
+         * @return bitboard of the attacked coordinates
+         */
+        private long attacks(long occupancy) {
+            return attacks[(int) (((occupancy & mask) * magic) >>> shift)];
+        }
+    }
+
+    private Attacks() {
+    }
+
+    /**
+     * find the coordinates a rook attacks, the rays stop at the first occupied coordinate(which is included)
+     * @param coordinate the coordinate of the rook
+     * @param occupancy the bitboard of all the pieces on the board
+     * @return bitboard of the attacked coordinates
+     */
+    public static long rookAttacks(int coordinate, long occupancy) {
+        return ROOK_MAGICS[coordinate].attacks(occupancy);
+    }
+
+    /**
+     * find the coordinates a bishop attacks, the rays stop at the first occupied coordinate(which is included)
+     * @param coordinate the coordinate of the bishop
+     * @param occupancy the bitboard of all the pieces on the board
+     * @return bitboard of the attacked coordinates
+     */
+    public static long bishopAttacks(int coordinate, long occupancy) {
+        return BISHOP_MAGICS[coordinate].attacks(occupancy);
+    }
+
+    /**
+     * find the coordinates a queen attacks, the rays stop at the first occupied coordinate(which is included)
+     * @param coordinate the coordinate of the queen
+     * @param occupancy the bitboard of all the pieces on the board
+     * @return bitboard of the attacked coordinates
+     */
+    public static long queenAttacks(int coordinate, long occupancy) {
+        return rookAttacks(coordinate, occupancy) | bishopAttacks(coordinate, occupancy);
+    }
+
+    /**
+     * find the coordinates a knight attacks
+     * @param coordinate the coordinate of the knight
+     * @return bitboard of the attacked coordinates
+     */
+    public static long knightAttacks(int coordinate) {
+        return KNIGHT_ATTACKS[coordinate];
+    }
+
+    /**
+     * find the coordinates a king attacks
+     * @param coordinate the coordinate of the king
+     * @return bitboard of the attacked coordinates
+     */
+    public static long kingAttacks(int coordinate) {
+        return KING_ATTACKS[coordinate];
+    }
+
+    /**
+     * find the coordinates a pawn attacks(the diagonal coordinates in front of him)
+     * @param color the color of the pawn
+     * @param coordinate the coordinate of the pawn
+     * @return bitboard of the attacked coordinates
+     */
+    public static long pawnAttacks(Color color, int coordinate) {
+        return PAWN_ATTACKS[BitBoard.colorIndex(color)][coordinate];
+    }
+
+    /**
+     * find the coordinate a pawn moves to with one step forward(whether it is occupied or not)
+     * @param color the color of the pawn
+     * @param coordinate the coordinate of the pawn
+     * @return bitboard of the coordinate in front of the pawn, empty on the last row
+     */
+    public static long pawnPushes(Color color, int coordinate) {
+        return PAWN_PUSHES[BitBoard.colorIndex(color)][coordinate];
+    }
+
+    /**
+     * get the coordinates between two coordinates on the same row, column or diagonal
+     * @param from the first coordinate
+     * @param to the second coordinate
+     * @return bitboard of the coordinates between them(not included), empty if they are not on the same line
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    /**
+     * get the full line of the board that goes through two coordinates
+     * @param from the first coordinate
+     * @param to the second coordinate
+     * @return bitboard of the row, column or diagonal of both of them, empty if they are not on the same line
+     */
+    public static long line(int from, int to) {
+        return LINE[from][to];
+    }
+
+    /**
+     * find all the pieces of a color that attack a coordinate
+     * @param bitboards the piece bitboards of the board
+     * @param occupancy the bitboard of all the pieces on the board
+     * @param coordinate the coordinate to check
+     * @param attacker the color of the attacking pieces
+     * @return bitboard of the attacking pieces
+     */
+    public static long attackersOf(long[] bitboards, long occupancy, int coordinate, Color attacker) {
+        int offset = attacker == Color.White ? 0 : BitBoard.PIECE_KINDS;
+        Color defender = attacker == Color.White ? Color.Black : Color.White;
+        long queens = bitboards[BitBoard.QUEEN + offset];
+        return (pawnAttacks(defender, coordinate) & bitboards[BitBoard.PAWN + offset])
+                | (knightAttacks(coordinate) & bitboards[BitBoard.KNIGHT + offset])
+                | (kingAttacks(coordinate) & bitboards[BitBoard.KING + offset])
+                | (rookAttacks(coordinate, occupancy) & (bitboards[BitBoard.ROOK + offset] | queens))
+                | (bishopAttacks(coordinate, occupancy) & (bitboards[BitBoard.BISHOP + offset] | queens));
+    }
+
+    /**
+     * find the pieces of a color that are pinned to their king(the only piece between the king and an enemy slider)
+     * @param bitboards the piece bitboards of the board
+     * @param occupancy the bitboard of all the pieces on the board
+     * @param color the color of the king
+     * @return bitboard of the pinned pieces
+     */
+    public static long pinnedPieces(long[] bitboards, long occupancy, Color color) {
+        int offset = color == Color.White ? 0 : BitBoard.PIECE_KINDS;
+        int enemyOffset = BitBoard.PIECE_KINDS - offset;
+        int king = BitBoard.firstCoordinate(bitboards[BitBoard.KING + offset]);
+        long own = BitBoard.EMPTY;
+        for (int kind = BitBoard.PAWN; kind <= BitBoard.KING; kind++)
+            own |= bitboards[kind + offset];
+        long queens = bitboards[BitBoard.QUEEN + enemyOffset];
+        // the enemy sliders that would attack the king on an empty board
+        long snipers = (rookAttacks(king, BitBoard.EMPTY) & (bitboards[BitBoard.ROOK + enemyOffset] | queens))
+                | (bishopAttacks(king, BitBoard.EMPTY) & (bitboards[BitBoard.BISHOP + enemyOffset] | queens));
+        long pinned = BitBoard.EMPTY;
+        while (snipers != 0) {
+            long blockers = BETWEEN[king][BitBoard.firstCoordinate(snipers)] & occupancy;
+            if (Long.bitCount(blockers) == 1 && (blockers & own) != 0)
+                pinned |= blockers;
+            snipers &= snipers - 1;
+        }
+        return pinned;
+    }
+
+    /**
+     * check if a pseudo legal move leaves the king of the moving color safe, without making the move
+     * @param bitboards the piece bitboards of the board
+     * @param occupancy the bitboard of all the pieces on the board
+     * @param color the color of the moving piece
+     * @param from the coordinate the piece moves from
+     * @param to the coordinate the piece moves to
+     * @param pinned the pinned pieces of the color
+     * @param checkers the enemy pieces that attack the king of the color
+     * @return true if the king is not in check after the move, false otherwise
+     * @see #pinnedPieces(long[], long, Color)
+     * @see #attackersOf(long[], long, int, Color)
+     */
+    public static boolean isLegal(long[] bitboards, long occupancy, Color color, int from, int to, long pinned, long checkers) {
+        int king = BitBoard.firstCoordinate(bitboards[color == Color.White ? BitBoard.WHITE_KING : BitBoard.BLACK_KING]);
+        Color enemy = color == Color.White ? Color.Black : Color.White;
+        // the king can't move to an attacked coordinate, the king himself doesn't block the rays
+        if (from == king)
+            return !isSquareAttacked(bitboards, occupancy ^ BitBoard.squareMask(king), to, enemy);
+        if (checkers != 0) {
+            // on a double check only the king can move
+            if ((checkers & (checkers - 1)) != 0)
+                return false;
+            // capture the checking piece or block him
+            int checker = BitBoard.firstCoordinate(checkers);
+            if (to != checker && !BitBoard.isSet(BETWEEN[king][checker], to))
+                return false;
+        }
+        // a pinned piece can move only on the line of the pin
+        return !BitBoard.isSet(pinned, from) || BitBoard.isSet(LINE[king][from], to);
+    }
+
+    /**
+     * check if a coordinate is attacked by any piece of the given color
+     * @param bitboards the piece bitboards of the board
+     * @param occupancy the bitboard of all the pieces on the board
+     * @param coordinate the coordinate to check
+     * @param attacker the color of the attacking pieces
+     * @return true if one of the attacker pieces attacks the coordinate, false otherwise
+     * @see BitBoard
+     */
+    public static boolean isSquareAttacked(long[] bitboards, long occupancy, int coordinate, Color attacker) {
+        int offset = attacker == Color.White ? 0 : BitBoard.PIECE_KINDS;
+        // a pawn attacks the coordinate if the coordinate "pawn attacks" it from the other side
+        Color defender = attacker == Color.White ? Color.Black : Color.White;
+        if ((pawnAttacks(defender, coordinate) & bitboards[BitBoard.PAWN + offset]) != 0)
+            return true;
+        if ((knightAttacks(coordinate) & bitboards[BitBoard.KNIGHT + offset]) != 0)
+            return true;
+        if ((kingAttacks(coordinate) & bitboards[BitBoard.KING + offset]) != 0)
+            return true;
+        long queens = bitboards[BitBoard.QUEEN + offset];
+        if ((rookAttacks(coordinate, occupancy) & (bitboards[BitBoard.ROOK + offset] | queens)) != 0)
+            return true;
+        return (bishopAttacks(coordinate, occupancy) & (bitboards[BitBoard.BISHOP + offset] | queens)) != 0;
+    }
+
+    /**
+     * create the magic lookup of a sliding piece on a coordinate, by filling the attacks of every relevant occupancy
+     * in the index the magic number maps her to
+     * @param coordinate the coordinate of the piece
+     * @param directions the directions the piece moves in
+     * @param magic the magic number of the coordinate
+     * @return the magic lookup of the coordinate
+     */
+    private static Magic createMagic(int coordinate, int[][] directions, long magic) {
+        long mask = relevantOccupancy(coordinate, directions);
+        int shift = 64 - Long.bitCount(mask);
+        long[] attacks = new long[1 << Long.bitCount(mask)];
+        // go over all the subsets of the mask(carry-rippler)
+        long subset = BitBoard.EMPTY;
+        do {
+            attacks[(int) ((subset * magic) >>> shift)] = slidingAttacks(coordinate, subset, directions);
+            subset = (subset - mask) & mask;
+        } while (subset != BitBoard.EMPTY);
+        return new Magic(mask, magic, shift, attacks);
+    }
+
+    /**
+     * find the coordinates that can block a sliding piece, the last coordinate of every ray is not included
+     * because it is attacked whether it is occupied or not
+     * @param coordinate the coordinate of the piece
+     * @param directions the directions the piece moves in
+     * @return bitboard of the relevant coordinates
+     */
+    private static long relevantOccupancy(int coordinate, int[][] directions) {
+        long mask = BitBoard.EMPTY;
+        for (int[] direction : directions) {
+            int column = coordinate % 8 + direction[0];
+            int row = coordinate / 8 + direction[1];
+            while (isOnBoard(column + direction[0], row + direction[1])) {
+                mask |= BitBoard.squareMask(row * 8 + column);
+                column += direction[0];
+                row += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * walk on every direction until the edge of the board or an occupied coordinate
+     * @param coordinate the coordinate of the piece
+     * @param occupancy the bitboard of all the pieces on the board
+     * @param directions the directions the piece moves in
+     * @return bitboard of the attacked coordinates
+     */
+    private static long slidingAttacks(int coordinate, long occupancy, int[][] directions) {
+        long attacks = BitBoard.EMPTY;
+        for (int[] direction : directions) {
+            int column = coordinate % 8 + direction[0];
+            int row = coordinate / 8 + direction[1];
+            while (isOnBoard(column, row)) {
+                int target = row * 8 + column;
+                attacks |= BitBoard.squareMask(target);
+                // the ray is blocked
+                if (BitBoard.isSet(occupancy, target))
+                    break;
+                column += direction[0];
+                row += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * find the coordinates a piece reaches with one step on every direction
+     * @param coordinate the coordinate of the piece
+     * @param steps the {column, row} steps of the piece
+     * @return bitboard of the attacked coordinates
+     */
+    private static long stepAttacks(int coordinate, int[][] steps) {
+        long attacks = BitBoard.EMPTY;
+        for (int[] step : steps) {
+            int column = coordinate % 8 + step[0];
+            int row = coordinate / 8 + step[1];
+            if (isOnBoard(column, row))
+                attacks |= BitBoard.squareMask(row * 8 + column);
+        }
+        return attacks;
+    }
+
+    /**
+     * check if a column and row are inside the board
+     * @param column the column(0-7)
+     * @param row the row(0-7)
+     * @return true if inside the board, false otherwise
+     */
+    private static boolean isOnBoard(int column, int row) {
+        return column >= 0 && column < 8 && row >= 0 && row < 8;
+    }
+}
@@ -0,0 +1,116 @@
+package logic;
+
+import logic.Pieces.Piece;
+
+/**
+ * this class contains static constants and helpers for the bitboard representation of the board,
+ * every bitboard is a long where bit number i is set if the coordinate i is occupied
+ * @see <a href="https://www.chessprogramming.org/Bitboards"></a>
+ */
+public final class BitBoard {
+    // the index of every piece bitboard(same order as the zobrist table)
+    public static final int WHITE_PAWN = 0;
+    public static final int WHITE_KNIGHT = 1;
+    public static final int WHITE_BISHOP = 2;
+    public static final int WHITE_ROOK = 3;
+    public static final int WHITE_QUEEN = 4;
+    public static final int WHITE_KING = 5;
+    public static final int BLACK_PAWN = 6;
+    public static final int BLACK_KNIGHT = 7;
+    public static final int BLACK_BISHOP = 8;
+    public static final int BLACK_ROOK = 9;
+    public static final int BLACK_QUEEN = 10;
+    public static final int BLACK_KING = 11;
+    // number of piece bitboards
+    public static final int PIECE_BITBOARDS = 12;
+    // number of piece kinds of every color
+    public static final int PIECE_KINDS = 6;
+    // the piece kinds, the index of a piece bitboard is his kind plus the color offset
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+
+    public static final long EMPTY = 0L;
+    public static final long FULL = ~0L;
+
+    private BitBoard() {
+    }
+
+    /**
+     * get the bitboard with only the given coordinate set
+     * @param coordinate the coordinate on the board(0-63)
+     * @return the mask of the coordinate
+     */
+    public static long squareMask(int coordinate) {
+        return 1L << coordinate;
+    }
+
+    /**
+     * check if a coordinate is set in a bitboard
+     * @param bitboard the bitboard to check in
+     * @param coordinate the coordinate to check
+     * @return true if the coordinate is set, false otherwise
+     */
+    public static boolean isSet(long bitboard, int coordinate) {
+        return (bitboard & (1L << coordinate)) != 0;
+    }
+
+    /**
+     * get the lowest coordinate that is set in the bitboard
+     * @param bitboard the bitboard(must not be empty)
+     * @return the lowest set coordinate
+     */
+    public static int firstCoordinate(long bitboard) {
+        return Long.numberOfTrailingZeros(bitboard);
+    }
+
+    /**
+     * get the index of the color in color indexed arrays
+     * @param color the color
+     * @return 0 for white, 1 for black
+     */
+    public static int colorIndex(Color color) {
+        return color == Color.White ? 0 : 1;
+    }
+
+    /**
+     * get the index of the bitboard for a piece kind of a given color
+     * @param kind the piece kind
+     * @param color the color of the piece
+     * @return the index of the piece bitboard
+     */
+    public static int pieceIndex(int kind, Color color) {
+        return color == Color.White ? kind : kind + PIECE_KINDS;
+    }
+
+    /**
+     * get the piece kind of a piece bitboard index
+     * @param pieceIndex the index of the piece bitboard
+     * @return the piece kind
+     */
+    public static int kindOf(int pieceIndex) {
+        return pieceIndex % PIECE_KINDS;
+    }
+
+    /**
+     * get the color of a piece bitboard index
+     * @param pieceIndex the index of the piece bitboard
+     * @return the color of the piece
+     */
+    public static Color colorOf(int pieceIndex) {
+        return pieceIndex < PIECE_KINDS ? Color.White : Color.Black;
+    }
+
+    /**
+     * get the index of the bitboard for a given piece
+     * @param piece the piece to get his bitboard index
+     * @return the index of the piece bitboard
+     * @see Piece#getCode()
+     */
+    public static int pieceIndex(Piece piece) {
+        return piece.getCode();
+    }
+}
@@ -5,25 +5,49 @@ import logic.Pieces.*;
 import logic.player.BlackPlayer;
 import logic.player.Player;
 import logic.player.WhitePlayer;
+import logic.player.AI.Zobrist;
 
 import java.util.*;
-import java.util.Collections;
 
 /**
  * this class represent a board of chess, and its attributes
  */
 public class Board {
     /**
-     * an HahMap of the board state
+     * the bitboard of every piece kind and color
+     * @see BitBoard
      */
-    public final Map<Integer, Piece> board_state;
-    private final List<Piece> whitePieces;
-    private final List<Piece> blackPieces;
+    private final long[] bitboards;
+    // the occupancy bitboards
+    private final long whiteOccupancy;
+    private final long blackOccupancy;
+    private final long occupancy;
+    // the piece object on every coordinate, the pieces are shared by all the boards
+    private final Piece[] pieces;
+    // the coordinates of the pieces that haven't moved yet
+    private final long unmoved;
+    // the coordinate a pawn passed over in the last move, -1 if there is none(the engine has no en passant,
+    // it is kept for the FEN)
+    private final int enPassantCoordinate;
     private final Player whitePlayer;
     private final Player blackPlayer;
     private Player turn;
     private int movesWithoutEat;
-    private final Move transitionMove;
+    // the encoded move that brought the game to the board, NO_MOVE on the first board
+    private final int lastMove;
+    // the history of the game, shared with the boards that continue the board, and the number of moves before the board
+    private final GameHistory history;
+    private final int ply;
+    // the number of moves in the game before the first board of the history, for a board that was loaded from FEN
+    private final int startPly;
+    // the zobrist key of the board
+    private final long key;
+    // the result of the game, calculated on the first request
+    private Result result;
+    // the pinned pieces and the checking pieces of every color, calculated on the first legality check
+    private final long[] pinned = new long[2];
+    private final long[] checkers = new long[2];
+    private final boolean[] isLegalityCalculated = new boolean[2];
     public static int size = 64;
 
     /**
@@ -31,16 +55,40 @@ public class Board {
      * @param builder a builder that contains the needed values for the new Board
      */
     public Board(BoardBuilder builder) {
-        this.board_state = Collections.unmodifiableMap(builder.boardState);
-        this.whitePieces = getActivePieces(Color.White);
-        this.blackPieces = getActivePieces(Color.Black);
-        List<Move> whiteLegalMoves = getAllLegalMoves(this.whitePieces);
-        List<Move> blackLegalMoves = getAllLegalMoves(this.blackPieces);
-        this.whitePlayer = new WhitePlayer(this, whiteLegalMoves, blackLegalMoves, builder.isWhiteAi, builder.whiteHasCastled);
-        this.blackPlayer = new BlackPlayer(this, whiteLegalMoves, blackLegalMoves, builder.isBlackAi, builder.blackHasCastled);
+        this.bitboards = builder.bitboards.clone();
+        this.pieces = builder.pieces.clone();
+        long white = BitBoard.EMPTY;
+        long black = BitBoard.EMPTY;
+        for(int i = 0; i < BitBoard.PIECE_KINDS; i++)
+        {
+            white |= this.bitboards[i];
+            black |= this.bitboards[i + BitBoard.PIECE_KINDS];
+        }
+        this.whiteOccupancy = white;
+        this.blackOccupancy = black;
+        this.occupancy = white | black;
+        this.unmoved = builder.unmoved;
+        this.enPassantCoordinate = builder.enPassantCoordinate;
+        this.startPly = builder.startPly;
+        // the players generate their moves only when they are asked for
+        this.whitePlayer = new WhitePlayer(this, builder.isWhiteAi, builder.whiteHasCastled);
+        this.blackPlayer = new BlackPlayer(this, builder.isBlackAi, builder.blackHasCastled);
         this.turn = getPlayerForColor(builder.turn);
         this.movesWithoutEat = builder.movesWithoutEat;
-        this.transitionMove = builder.transitionMove != null ? builder.transitionMove : Move.MoveFactory.getNullMove();
+        this.key = Zobrist.getKeyForBoard(this);
+        this.lastMove = MoveEncoding.encode(builder.transitionMove);
+        // the move is recorded in the game history instead of keeping the previous board
+        if(this.lastMove != MoveEncoding.NO_MOVE)
+        {
+            Board previous = builder.transitionMove.getBoard();
+            this.history = previous.history.record(previous.ply, previous.key, this.lastMove);
+            this.ply = previous.ply + 1;
+        }
+        else
+        {
+            this.history = new GameHistory();
+            this.ply = 0;
+        }
 
     }
 
@@ -54,14 +102,38 @@ public class Board {
         return blackPlayer;
     }
 
-    // getter
+    /**
+     * get the pieces of the white player, adapted from the bitboards
+     * @return the flyweight pieces, in the order of their coordinates(the coordinates are not kept in the pieces,
+     * use getOccupancy(Color.White) to find them)
+     */
     public List<Piece> getWhitePieces() {
-        return whitePieces;
+        return getPieces(whiteOccupancy);
     }
 
-    // getter
+    /**
+     * get the pieces of the black player, adapted from the bitboards
+     * @return the flyweight pieces, in the order of their coordinates(the coordinates are not kept in the pieces,
+     * use getOccupancy(Color.Black) to find them)
+     */
     public List<Piece> getBlackPieces() {
-        return blackPieces;
+        return getPieces(blackOccupancy);
+    }
+
+    /**
+     * get the pieces on the coordinates of an occupancy bitboard
+     * @param pieces the occupancy bitboard
+     * @return the flyweight pieces, in the order of their coordinates
+     */
+    private List<Piece> getPieces(long pieces) {
+        List<Piece> list = new ArrayList<>(Long.bitCount(pieces));
+        while (pieces != 0)
+        {
+            list.add(this.pieces[BitBoard.firstCoordinate(pieces)]);
+            // remove the lowest coordinate
+            pieces &= pieces - 1;
+        }
+        return list;
     }
 
     public int getMovesWithoutEat() {
@@ -70,10 +142,41 @@ public class Board {
 
     public void setMovesWithoutEat(int movesWithoutEat) {
         this.movesWithoutEat = movesWithoutEat;
+        // the draw conditions depend on the moves without eat
+        this.result = null;
+    }
+
+    /**
+     * get the move that brought the game to this board
+     * @return the encoded move, NO_MOVE on the first board of the game
+     */
+    public int getLastMove() {
+        return lastMove;
+    }
+
+    // getter
+    public GameHistory getHistory() {
+        return history;
+    }
+
+    // getter
+    public int getPly() {
+        return ply;
     }
 
-    public Move getTransitionMove() {
-        return transitionMove;
+    // getter
+    public int getStartPly() {
+        return startPly;
+    }
+
+    // getter
+    public long getKey() {
+        return key;
+    }
+
+    // getter
+    public int getEnPassantCoordinate() {
+        return enPassantCoordinate;
     }
 
     /**
@@ -97,7 +200,7 @@ public class Board {
     {
         if(this.turn == null)
             return this.whitePlayer;
-        if(this.turn.getClass() == WhitePlayer.class)
+        if(this.turn.getColor() == Color.White)
             return this.blackPlayer;
         return this.whitePlayer;
     }
@@ -110,19 +213,144 @@ public class Board {
     // setter
     public void setTurn(Player turn) {
         this.turn = turn;
+        this.result = null;
     }
 
     /**
      * look for the piece object on a given coordinate
      * @param coordinate the coordinate we look in
-     * @return the piece object on the given coordinate, or null if no piece there
+     * @return the piece object on the given coordinate, or null if no piece there(or not a valid coordinate)
      */
     public Piece getPieceAtCoordinate(int coordinate)
     {
-        if(board_state.containsKey(coordinate))
-            return board_state.get(coordinate);
-        return null;
+        if(coordinate < 0 || coordinate >= size)
+            return null;
+        return pieces[coordinate];
+    }
+
+    /**
+     * check if the piece on a given coordinate hasn't moved yet
+     * @param coordinate the coordinate of the piece
+     * @return true if the piece on the coordinate hasn't moved, false otherwise
+     */
+    public boolean isFirstMove(int coordinate)
+    {
+        return BitBoard.isSet(unmoved, coordinate);
+    }
+
+    // getter
+    public long getUnmoved()
+    {
+        return unmoved;
+    }
+
+    /**
+     * check if there is a piece on a given coordinate
+     * @param coordinate the coordinate we look in
+     * @return true if there is a piece on the coordinate, false otherwise
+     */
+    public boolean isOccupied(int coordinate)
+    {
+        return BitBoard.isSet(occupancy, coordinate);
+    }
+
+    /**
+     * get the bitboard of a piece kind
+     * @param pieceIndex the index of the piece bitboard
+     * @return the bitboard of the piece kind
+     * @see BitBoard
+     */
+    public long getBitboard(int pieceIndex)
+    {
+        return bitboards[pieceIndex];
+    }
+
+    /**
+     * get the bitboard of all the pieces of a given color
+     * @param color the color of the pieces
+     * @return the occupancy bitboard of the color
+     */
+    public long getOccupancy(Color color)
+    {
+        return color == Color.White ? whiteOccupancy : blackOccupancy;
+    }
+
+    // getter
+    public long getOccupancy()
+    {
+        return occupancy;
     }
+
+    /**
+     * check if a coordinate is attacked by any piece of the given color
+     * @param coordinate the coordinate to check
+     * @param attacker the color of the attacking pieces
+     * @return true if the coordinate is attacked, false otherwise
+     */
+    public boolean isSquareAttacked(int coordinate, Color attacker)
+    {
+        return Attacks.isSquareAttacked(bitboards, occupancy, coordinate, attacker);
+    }
+
+    /**
+     * check if a possible move leaves the king of the moving player safe, by the pins and the checks on this board
+     * the move is not made, so an illegal move doesn't cost a board construction
+     * @param move the move to check
+     * @return true if the king is not in check after the move, false otherwise
+     * @see Attacks#isLegal(long[], long, Color, int, int, long, long)
+     */
+    public boolean isKingSafeAfter(Move move)
+    {
+        Color color = move.getPieceMoved().getColor();
+        int colorIndex = BitBoard.colorIndex(color);
+        if(!isLegalityCalculated[colorIndex])
+        {
+            Color enemy = color == Color.White ? Color.Black : Color.White;
+            int king = BitBoard.firstCoordinate(bitboards[BitBoard.pieceIndex(BitBoard.KING, color)]);
+            pinned[colorIndex] = Attacks.pinnedPieces(bitboards, occupancy, color);
+            checkers[colorIndex] = Attacks.attackersOf(bitboards, occupancy, king, enemy);
+            isLegalityCalculated[colorIndex] = true;
+        }
+        return Attacks.isLegal(bitboards, occupancy, color, move.getCoordinateMovedFrom(), move.getCoordinateMovedTo(),
+                pinned[colorIndex], checkers[colorIndex]);
+    }
+
+    /**
+     * check if a move is one of the possible moves of its piece on this board, by the attacks of the piece and
+     * without generating the moves. the castles are not possible moves of the king, the player checks them
+     * @param move the move to check
+     * @return true if the move was made for this board and its piece can make it, false otherwise
+     */
+    public boolean isPossibleMove(Move move)
+    {
+        if(move == null || move.getBoard() != this || move.isCastle())
+            return false;
+        int from = move.getCoordinateMovedFrom();
+        int to = move.getCoordinateMovedTo();
+        Piece piece = move.getPieceMoved();
+        if(from < 0 || from >= size || to < 0 || to >= size)
+            return false;
+        // an attack move is possible only on an occupied coordinate, and any other move only on an empty one
+        if(pieces[from] != piece || move.isAttack() != isOccupied(to))
+            return false;
+        Color color = piece.getColor();
+        long targets = switch (piece.getType()) {
+            case PAWN -> {
+                long pushes = Attacks.pawnPushes(color, from) & ~occupancy;
+                // two rows on the first move, if the row in front is empty
+                if (pushes != BitBoard.EMPTY && isFirstMove(from))
+                    pushes |= Attacks.pawnPushes(color, BitBoard.firstCoordinate(pushes)) & ~occupancy;
+                yield pushes | (Attacks.pawnAttacks(color, from) & occupancy);
+            }
+            case KNIGHT -> Attacks.knightAttacks(from);
+            case BISHOP -> Attacks.bishopAttacks(from, occupancy);
+            case ROOK -> Attacks.rookAttacks(from, occupancy);
+            case QUEEN -> Attacks.queenAttacks(from, occupancy);
+            case KING -> Attacks.kingAttacks(from);
+        };
+        return BitBoard.isSet(targets & ~getOccupancy(color), to);
+    }
+
     @Override
     public String toString() {
         StringBuilder str = new StringBuilder();
@@ -130,10 +358,10 @@ public class Board {
         {
             for(int j =0;j<8;j++)
             {
-                if(board_state.get(i * 8 + j) == null)
+                if(pieces[i * 8 + j] == null)
                     str.append("0 ");
                 else
-                    str.append(board_state.get(i * 8 + j).toString()).append(" ");
+                    str.append(pieces[i * 8 + j].toString()).append(" ");
             }
             str.append("\n");
         }
@@ -141,33 +369,19 @@ public class Board {
     }
 
     /**
-     * get a list of all the active pieces for a given color
-     * @param color the color we want to find the pieces for
-     * @return list of all the pieces from this color
-     */
-    private List<Piece> getActivePieces(Color color)
-    {
-        List<Piece> activePieces = new ArrayList<>();
-        for (Piece piece : this.board_state.values())
-        {
-            if (piece != null && piece.getColor() == color)
-                activePieces.add(piece);
-        }
-        return activePieces;
-    }
-
-
-    /**
-     * find all the possible moves for a given list of pieces
-     * @param Pieces the pieces we want to get all their legal moves
+     * find all the possible moves for the pieces on a given occupancy bitboard
+     * @param pieces the occupancy bitboard of the pieces we want to get all their legal moves
      * @return all the possible moves for this group of pieces
      */
-    public List<Move> getAllLegalMoves(List<Piece> Pieces)
+    public List<Move> getAllLegalMoves(long pieces)
     {
         List<Move> possibleMoves = new ArrayList<>();
-        for(Piece piece : Pieces)
+        while (pieces != 0)
         {
-            possibleMoves.addAll(piece.getLegalMoves(this));
+            int coordinate = BitBoard.firstCoordinate(pieces);
+            possibleMoves.addAll(this.pieces[coordinate].getLegalMoves(this, coordinate));
+            // remove the lowest coordinate
+            pieces &= pieces - 1;
         }
         return possibleMoves;
     }
@@ -179,41 +393,20 @@ public class Board {
     public static BoardBuilder createNewBoard(boolean isWhiteAi, boolean isBlackAi)
     {
         BoardBuilder builder = new BoardBuilder();
-        HashMap<Integer, Piece> board_state = new HashMap<Integer, Piece>();
         // Black Layout
-        builder.setPiece(new Rook(0, Color.Black, true));
-        builder.setPiece(new Knight(1, Color.Black, true));
-        builder.setPiece(new Bishop(2, Color.Black, true));
-        builder.setPiece(new Queen(3, Color.Black, true));
-        builder.setPiece(new King(4, Color.Black, true));
-        builder.setPiece(new Bishop(5, Color.Black, true));
-        builder.setPiece(new Knight(6, Color.Black, true));
-        builder.setPiece(new Rook(7, Color.Black, true));
-        builder.setPiece(new Pawn(8, Color.Black, true));
-        builder.setPiece(new Pawn(9, Color.Black, true));
-        builder.setPiece(new Pawn(10, Color.Black, true));
-        builder.setPiece(new Pawn(11, Color.Black, true));
-        builder.setPiece(new Pawn(12, Color.Black, true));
-        builder.setPiece(new Pawn(13, Color.Black, true));
-        builder.setPiece(new Pawn(14, Color.Black, true));
-        builder.setPiece(new Pawn(15, Color.Black, true));
-        // Empty boxes
-        builder.setPiece(new Pawn(48, Color.White, true));
-        builder.setPiece(new Pawn(49, Color.White, true));
-        builder.setPiece(new Pawn(50, Color.White, true));
-        builder.setPiece(new Pawn(51, Color.White, true));
-        builder.setPiece(new Pawn(52, Color.White, true));
-        builder.setPiece(new Pawn(53, Color.White, true));
-        builder.setPiece(new Pawn(54, Color.White, true));
-        builder.setPiece(new Pawn(55, Color.White, true));
-        builder.setPiece(new Rook(56, Color.White, true));
-        builder.setPiece(new Knight(57, Color.White, true));
-        builder.setPiece(new Bishop(58, Color.White, true));
-        builder.setPiece(new Queen(59, Color.White, true));
-        builder.setPiece(new King(60, Color.White, true));
-        builder.setPiece(new Bishop(61, Color.White, true));
-        builder.setPiece(new Knight(62, Color.White, true));
-        builder.setPiece(new Rook(63, Color.White, true));
+        final PieceType[] backRow = {PieceType.ROOK, PieceType.KNIGHT, PieceType.BISHOP, PieceType.QUEEN,
+                PieceType.KING, PieceType.BISHOP, PieceType.KNIGHT, PieceType.ROOK};
+        for(int column = 0; column < 8; column++)
+        {
+            // Black Layout
+            builder.setPiece(column, Piece.of(backRow[column], Color.Black));
+            builder.setPiece(8 + column, Piece.of(PieceType.PAWN, Color.Black));
+            // White Layout
+            builder.setPiece(48 + column, Piece.of(PieceType.PAWN, Color.White));
+            builder.setPiece(56 + column, Piece.of(backRow[column], Color.White));
+        }
+        // no piece has moved yet
+        builder.unmoved = builder.getOccupancy();
 
         // turn to white
         builder.setTurn(Color.White);
@@ -234,6 +427,17 @@ public class Board {
      * @see Result Enum
      */
     public Result gameResult()
+    {
+        if(this.result == null)
+            this.result = calculateGameResult();
+        return this.result;
+    }
+
+    /**
+     * check if the game has been finished, without the saved result
+     * @return the Result of the game, NOT_FINISHED if the game still going
+     */
+    private Result calculateGameResult()
     {
         // if black gave white checkmate
         if(this.whitePlayer.isInCheckMate())
@@ -255,26 +459,25 @@ public class Board {
      * @return true if both can't win
      */
     private boolean notEnoughMaterial() {
-        return isNotEnoughMaterialToWin(this.blackPieces) && isNotEnoughMaterialToWin(this.whitePieces);
+        return isNotEnoughMaterialToWin(Color.Black) && isNotEnoughMaterialToWin(Color.White);
     }
 
     /**
-     * check if the active pieces are enough to win
-     * @param activePieces the active pieces of a player
+     * check if the active pieces of a color are enough to win
+     * @param color the color of the player
      * @return true if the player has not enough material to win, else if does
      */
-    private boolean isNotEnoughMaterialToWin(List<Piece> activePieces)
+    private boolean isNotEnoughMaterialToWin(Color color)
     {
-        boolean isPawn = false;
+        if(bitboards[BitBoard.pieceIndex(BitBoard.PAWN, color)] != BitBoard.EMPTY)
+            return false;
         int material = 0;
-        for(Piece piece : activePieces)
+        for(PieceType type : PieceType.values())
         {
-            if(piece.getClass() != King.class)
-                material += piece.value;
-            if(piece.getClass() == Pawn.class)
-                isPawn = true;
+            if(type != PieceType.KING && type != PieceType.PAWN)
+                material += Long.bitCount(bitboards[type.code(color)]) * Piece.of(type, color).value;
         }
-        return (material <= 3 && !isPawn);
+        return material <= 3;
     }
 
     /**
@@ -285,11 +488,12 @@ public class Board {
     private boolean isThreeTimesPosition()
     {
         int samePositionCounter = 0;
-        // for every move in the last N moves without eat
-        for(Move move : lastNMoves(movesWithoutEat))
+        // the boards before the last irreversible move can't come back
+        int reversibleMoves = Math.min(movesWithoutEat, history.reversibleMoves(ply));
+        // the boards with the same turn are an even number of moves back, compare their keys
+        for(int i = 2; i <= reversibleMoves; i += 2)
         {
-            // check if the move board was equal to the current board
-            if (this.equals(move.getBoard())) {
+            if (history.getKey(ply - i) == key) {
                 samePositionCounter++;
             }
         }
@@ -298,24 +502,17 @@ public class Board {
     }
 
     /**
-     * this function return a list of the last N Moves in the game
+     * this function return a list of the last N Moves in the game, from the game history
      * @param N the number of last moves to find
-     * @return list of Move of the last N moves in the game
+     * @return list of the last N encoded moves in the game, the last move first(less if the game or the history
+     * is shorter)
      */
-    public List<Move> lastNMoves(int N) {
-        final List<Move> moveHistory = new ArrayList<>();
-        Move currentMove = this.getTransitionMove();
-        int i = 0;
-        // while the not a nullMove and still not in N
-        while(currentMove != Move.MoveFactory.getNullMove() && i < N) {
-            // add the move
-            moveHistory.add(currentMove);
-            // go back another board
-            currentMove = currentMove.getBoard().getTransitionMove();
-            i++;
-        }
-        // return the list
-        return Collections.unmodifiableList(moveHistory);
+    public MoveList lastNMoves(int N) {
+        final MoveList moveHistory = new MoveList();
+        int count = Math.min(N, history.keptMoves(ply));
+        for(int i = 1; i <= count; i++)
+            moveHistory.add(history.getMove(ply - i));
+        return moveHistory;
     }
 
 
@@ -325,7 +522,8 @@ public class Board {
      */
     public static class BoardBuilder {
 
-        Map<Integer, Piece> boardState;
+        long[] bitboards;
+        Piece[] pieces;
         Color turn;
         Move transitionMove;
         boolean isWhiteAi;
@@ -333,21 +531,110 @@ public class Board {
         int movesWithoutEat;
         boolean whiteHasCastled;
         boolean blackHasCastled;
+        // the coordinates of the pieces that haven't moved yet
+        long unmoved;
+        // the coordinate a pawn passed over in the move, -1 if there is none
+        int enPassantCoordinate;
+        // the number of moves in the game before the board, for a board that doesn't come from a move
+        int startPly;
 
         public BoardBuilder() {
-            this.boardState = new HashMap<>();
+            this.bitboards = new long[BitBoard.PIECE_BITBOARDS];
+            this.pieces = new Piece[size];
+            this.enPassantCoordinate = -1;
+        }
+
+        /**
+         * create a builder with the pieces and the attributes of a board, the move and the turn are not copied
+         * @param board the board to copy
+         */
+        public BoardBuilder(Board board) {
+            this.bitboards = board.bitboards.clone();
+            this.pieces = board.pieces.clone();
+            this.unmoved = board.unmoved;
+            this.isWhiteAi = board.whitePlayer.isAi;
+            this.isBlackAi = board.blackPlayer.isAi;
+            this.whiteHasCastled = board.whitePlayer.isHasCastled();
+            this.blackHasCastled = board.blackPlayer.isHasCastled();
+            this.movesWithoutEat = board.movesWithoutEat;
+            this.enPassantCoordinate = -1;
+            this.startPly = board.startPly;
         }
 
         /**
-         * put piece in the board state
+         * put piece in the board state, replacing the piece that was on the coordinate
+         * @param coordinate the coordinate to put the piece on
          * @param piece the piece we want to set
          * @return the board builder after the piece set
          */
-        public BoardBuilder setPiece(final Piece piece) {
-            this.boardState.put(piece.getPosition(), piece);
+        public BoardBuilder setPiece(int coordinate, final Piece piece) {
+            removePiece(coordinate);
+            this.pieces[coordinate] = piece;
+            this.bitboards[BitBoard.pieceIndex(piece)] |= BitBoard.squareMask(coordinate);
+            return this;
+        }
+
+        /**
+         * remove the piece on a given coordinate, if there is one
+         * @param coordinate the coordinate to clear
+         * @return the board builder after the piece removed
+         */
+        public BoardBuilder removePiece(int coordinate) {
+            Piece removed = this.pieces[coordinate];
+            if(removed != null)
+                this.bitboards[BitBoard.pieceIndex(removed)] &= ~BitBoard.squareMask(coordinate);
+            this.pieces[coordinate] = null;
+            return this;
+        }
+
+        /**
+         * move a piece to a coordinate, replacing the piece that was there, both coordinates are no longer unmoved
+         * @param from the coordinate of the moving piece
+         * @param to the coordinate the piece moves to
+         * @return the board builder after the move
+         */
+        public BoardBuilder movePiece(int from, int to) {
+            Piece piece = this.pieces[from];
+            removePiece(from);
+            setPiece(to, piece);
+            this.unmoved &= ~(BitBoard.squareMask(from) | BitBoard.squareMask(to));
+            return this;
+        }
+
+        /**
+         * set if the piece on a given coordinate hasn't moved yet
+         * @param coordinate the coordinate of the piece
+         * @param isFirstMove true if the piece hasn't moved yet, false otherwise
+         * @return the board builder after the set
+         */
+        public BoardBuilder setFirstMove(int coordinate, boolean isFirstMove) {
+            if(isFirstMove)
+                this.unmoved |= BitBoard.squareMask(coordinate);
+            else
+                this.unmoved &= ~BitBoard.squareMask(coordinate);
             return this;
         }
 
+        /**
+         * get the coordinates of all the pieces that were set
+         * @return the occupancy bitboard
+         */
+        public long getOccupancy() {
+            long occupancy = BitBoard.EMPTY;
+            for(long bitboard : this.bitboards)
+                occupancy |= bitboard;
+            return occupancy;
+        }
+
+        /**
+         * look for the piece that was set on a given coordinate
+         * @param coordinate the coordinate we look in
+         * @return the piece on the coordinate, or null if no piece was set there
+         */
+        public Piece getPiece(int coordinate) {
+            return this.pieces[coordinate];
+        }
+
         /**
          * set the turn
          * @param nextMoveMaker the color of the player we want to change the turn to
@@ -387,7 +674,7 @@ public class Board {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Board b = (Board) o;
-        return board_state.equals(b.board_state) && turn.getColor().equals(b.turn.getColor());
+        return Arrays.equals(bitboards, b.bitboards) && turn.getColor().equals(b.turn.getColor());
     }
 
     /**
@@ -396,6 +683,6 @@ public class Board {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(board_state, turn);
+        return Objects.hash(Arrays.hashCode(bitboards), turn.getColor());
     }
 }
@@ -0,0 +1,141 @@
+package logic;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * this class represent a line of an Extended Position Description(EPD) file: the four position fields of a FEN,
+ * and operations like "bm e4;" or the node counts of a perft suite "D1 20;"
+ * the files are read as a stream of lines, so a big file is never held in memory
+ * @see <a href="https://www.chessprogramming.org/Extended_Position_Description">
+ * @see Fen
+ */
+public final class Epd {
+    private final String fen;
+    private final Map<String, String> operations;
+
+    private Epd(String fen, Map<String, String> operations) {
+        this.fen = fen;
+        this.operations = operations;
+    }
+
+    /**
+     * parse a line of EPD, a line of FEN with its move counters is valid too
+     * @param line the line to parse
+     * @return the EPD of the line
+     * @throws IllegalArgumentException if the line is not valid
+     */
+    public static Epd parse(String line) {
+        String[] fields = line.trim().split("\\s+", 5);
+        if (fields.length < 4)
+            throw new IllegalArgumentException("not a valid EPD: " + line);
+        String position = fields[0] + " " + fields[1] + " " + fields[2] + " " + fields[3];
+        // the move counters of a FEN
+        if (fields.length > 4 && fields[4].matches("\\d+(\\s+\\d+)?"))
+            return new Epd(position + " " + fields[4], Collections.emptyMap());
+        Map<String, String> operations = fields.length > 4 ? parseOperations(fields[4]) : new LinkedHashMap<>();
+        // the move counters of an EPD are operations, if there are any
+        String counters = operations.getOrDefault("hmvc", "0") + " " + operations.getOrDefault("fmvn", "1");
+        return new Epd(position + " " + counters, Collections.unmodifiableMap(operations));
+    }
+
+    /**
+     * parse the operations of an EPD, an operation is an opcode and its operands until a semicolon that is not
+     * in a string
+     * @param text the operations
+     * @return the operands by the opcodes, in the order of the line
+     */
+    private static Map<String, String> parseOperations(String text) {
+        Map<String, String> operations = new LinkedHashMap<>();
+        StringBuilder operation = new StringBuilder();
+        boolean isInString = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"')
+                isInString = !isInString;
+            if (c == ';' && !isInString) {
+                addOperation(operations, operation.toString());
+                operation.setLength(0);
+            } else {
+                operation.append(c);
+            }
+        }
+        addOperation(operations, operation.toString());
+        return operations;
+    }
+
+    // add an operation to the operations, the operands without the quotes of a string
+    private static void addOperation(Map<String, String> operations, String operation) {
+        String[] parts = operation.trim().split("\\s+", 2);
+        if (parts[0].isEmpty())
+            return;
+        String operand = parts.length > 1 ? parts[1].trim() : "";
+        if (operand.length() >= 2 && operand.startsWith("\"") && operand.endsWith("\""))
+            operand = operand.substring(1, operand.length() - 1);
+        operations.put(parts[0], operand);
+    }
+
+    /**
+     * read the lines of an EPD or FEN file one by one, the empty lines and the lines that start with # are skipped
+     * @param reader the reader of the file, the stream reads it only when it is used
+     * @return the stream of the EPDs of the lines
+     */
+    public static Stream<Epd> stream(BufferedReader reader) {
+        return reader.lines()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .map(Epd::parse);
+    }
+
+    /**
+     * read the lines of an EPD or FEN file one by one, the stream must be closed to close the file
+     * @param path the path of the file
+     * @return the stream of the EPDs of the lines
+     * @throws IOException if the file can't be opened
+     */
+    public static Stream<Epd> stream(Path path) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(path);
+        return stream(reader).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * create a board builder of the position, with no AI players
+     * @return the board builder
+     * @see Fen#parse(String)
+     */
+    public Board.BoardBuilder toBuilder() {
+        return Fen.parse(fen);
+    }
+
+    // getter
+    public String getFen() {
+        return fen;
+    }
+
+    /**
+     * get the operand of an operation
+     * @param opcode the opcode of the operation
+     * @return the operand, an empty string for an operation without operands, or null if there is no such operation
+     */
+    public String getOperation(String opcode) {
+        return operations.get(opcode);
+    }
+
+    // getter
+    public Map<String, String> getOperations() {
+        return operations;
+    }
+}
@@ -0,0 +1,255 @@
+package logic;
+
+import logic.Pieces.Piece;
+import logic.Pieces.PieceType;
+
+/**
+ * this class contains static methods for the Forsyth-Edwards Notation(FEN) of a board
+ * the engine has no en passant, so the en passant coordinate is only kept on the board for the FEN
+ * @see <a href="https://en.wikipedia.org/wiki/Forsyth%E2%80%93Edwards_Notation">
+ * @see Epd
+ */
+public final class Fen {
+    // the FEN letters of the piece kinds, the white letters
+    private static final String PIECE_LETTERS = "PNBRQK";
+    // the FEN of the starting board
+    public static final String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private Fen() {
+    }
+
+    /**
+     * create a board builder from a FEN, the pawns on their first row and the kings and rooks with castling
+     * rights are set as pieces that haven't moved
+     * @param fen the FEN of the board, the move counters are optional(an EPD without operations is a valid FEN)
+     * @param isWhiteAi is the white player AI
+     * @param isBlackAi is the black player AI
+     * @return the board builder of the FEN
+     * @throws IllegalArgumentException if the FEN is not valid
+     */
+    public static Board.BoardBuilder parse(String fen, boolean isWhiteAi, boolean isBlackAi) {
+        String[] fields = fen.trim().split("\\s+");
+        if (fields.length < 4)
+            throw new IllegalArgumentException("not a valid FEN: " + fen);
+        Board.BoardBuilder builder = new Board.BoardBuilder();
+        parsePieces(builder, fields[0], fen);
+        // turn
+        if (fields[1].equals("w"))
+            builder.setTurn(Color.White);
+        else if (fields[1].equals("b"))
+            builder.setTurn(Color.Black);
+        else
+            throw new IllegalArgumentException("not a valid turn in FEN: " + fen);
+        parseCastling(builder, fields[2], fen);
+        builder.enPassantCoordinate = parseEnPassant(fields[3], builder.turn, fen);
+        // AI values
+        builder.isWhiteAi = isWhiteAi;
+        builder.isBlackAi = isBlackAi;
+        // the castled values are not in the FEN, a player without castling rights may have castled
+        builder.whiteHasCastled = false;
+        builder.blackHasCastled = false;
+        // the half move clock is the moves without eat
+        builder.movesWithoutEat = fields.length > 4 ? parseCounter(fields[4], 0, fen) : 0;
+        // the full move number counts the moves of the black player, from 1
+        int fullMoveNumber = fields.length > 5 ? parseCounter(fields[5], 1, fen) : 1;
+        builder.startPly = 2 * (fullMoveNumber - 1) + (builder.turn == Color.Black ? 1 : 0);
+        return builder;
+    }
+
+    /**
+     * create a board builder from a FEN, with no AI players
+     * @param fen the FEN of the board
+     * @return the board builder of the FEN
+     * @throws IllegalArgumentException if the FEN is not valid
+     */
+    public static Board.BoardBuilder parse(String fen) {
+        return parse(fen, false, false);
+    }
+
+    /**
+     * set the pieces of the placement field of a FEN, the first row in the field is row 8(coordinate 0 is a8)
+     * @param builder the builder to set the pieces on
+     * @param placement the placement field
+     * @param fen the whole FEN, for the error message
+     */
+    private static void parsePieces(Board.BoardBuilder builder, String placement, String fen) {
+        int coordinate = 0;
+        for (int i = 0; i < placement.length(); i++) {
+            char c = placement.charAt(i);
+            if (c == '/') {
+                if (coordinate % 8 != 0)
+                    throw new IllegalArgumentException("not a full row in FEN: " + fen);
+            } else if (c >= '1' && c <= '8') {
+                coordinate += c - '0';
+            } else {
+                int kind = PIECE_LETTERS.indexOf(Character.toUpperCase(c));
+                if (kind < 0 || coordinate >= Board.size)
+                    throw new IllegalArgumentException("not a valid piece placement in FEN: " + fen);
+                Color color = Character.isUpperCase(c) ? Color.White : Color.Black;
+                builder.setPiece(coordinate, Piece.of(PieceType.of(kind), color));
+                // a pawn on his first row can move two rows
+                if (kind == BitBoard.PAWN && coordinate / 8 == (color == Color.White ? 6 : 1))
+                    builder.setFirstMove(coordinate, true);
+                coordinate++;
+            }
+        }
+        if (coordinate != Board.size)
+            throw new IllegalArgumentException("not a valid piece placement in FEN: " + fen);
+    }
+
+    /**
+     * set the kings and the rooks of the castling rights as pieces that haven't moved
+     * @param builder the builder to set the pieces on
+     * @param castling the castling field
+     * @param fen the whole FEN, for the error message
+     */
+    private static void parseCastling(Board.BoardBuilder builder, String castling, String fen) {
+        if (castling.equals("-"))
+            return;
+        for (int i = 0; i < castling.length(); i++) {
+            char c = castling.charAt(i);
+            Color color = Character.isUpperCase(c) ? Color.White : Color.Black;
+            int king = color == Color.White ? 60 : 4;
+            int rook;
+            if (Character.toUpperCase(c) == 'K')
+                rook = king + 3;
+            else if (Character.toUpperCase(c) == 'Q')
+                rook = king - 4;
+            else
+                throw new IllegalArgumentException("not valid castling rights in FEN: " + fen);
+            if (builder.getPiece(king) != Piece.of(PieceType.KING, color)
+                    || builder.getPiece(rook) != Piece.of(PieceType.ROOK, color))
+                throw new IllegalArgumentException("castling rights without a king and a rook in FEN: " + fen);
+            builder.setFirstMove(king, true);
+            builder.setFirstMove(rook, true);
+        }
+    }
+
+    /**
+     * find the coordinate of the en passant field, the coordinate behind a pawn of the player who isn't in his turn
+     * @param field the en passant field
+     * @param turn the color of the player who it's his turn
+     * @param fen the whole FEN, for the error message
+     * @return the coordinate, or -1 if there is none
+     */
+    private static int parseEnPassant(String field, Color turn, String fen) {
+        if (field.equals("-"))
+            return -1;
+        int coordinate = coordinateOf(field);
+        // the pawn of white passes over row 3, the pawn of black over row 6
+        if (coordinate < 0 || coordinate / 8 != (turn == Color.Black ? 5 : 2))
+            throw new IllegalArgumentException("not a valid en passant coordinate in FEN: " + fen);
+        return coordinate;
+    }
+
+    /**
+     * parse a move counter of a FEN
+     * @param field the counter field
+     * @param min the smallest valid value
+     * @param fen the whole FEN, for the error message
+     * @return the value of the counter
+     */
+    private static int parseCounter(String field, int min, String fen) {
+        try {
+            int value = Integer.parseInt(field);
+            if (value >= min)
+                return value;
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException("not a valid move counter in FEN: " + fen);
+    }
+
+    /**
+     * create the FEN of a board
+     * @param board the board
+     * @return the FEN of the board
+     */
+    public static String toFen(Board board) {
+        StringBuilder fen = new StringBuilder();
+        for (int row = 0; row < 8; row++) {
+            int empty = 0;
+            for (int column = 0; column < 8; column++) {
+                Piece piece = board.getPieceAtCoordinate(row * 8 + column);
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0)
+                    fen.append(empty);
+                empty = 0;
+                fen.append(piece);
+            }
+            if (empty > 0)
+                fen.append(empty);
+            if (row < 7)
+                fen.append('/');
+        }
+        Color turn = board.getTurn().getColor();
+        fen.append(turn == Color.White ? " w " : " b ");
+        int length = fen.length();
+        appendCastling(fen, board, Color.White, 'K', 'Q');
+        appendCastling(fen, board, Color.Black, 'k', 'q');
+        if (fen.length() == length)
+            fen.append('-');
+        fen.append(' ');
+        fen.append(board.getEnPassantCoordinate() < 0 ? "-" : coordinateName(board.getEnPassantCoordinate()));
+        int gamePly = board.getStartPly() + board.getPly();
+        fen.append(' ').append(board.getMovesWithoutEat()).append(' ').append(gamePly / 2 + 1);
+        return fen.toString();
+    }
+
+    /**
+     * add the castling rights of a color to a FEN, the rights of the king and the rooks that haven't moved
+     * @param fen the FEN to add to
+     * @param board the board
+     * @param color the color of the player
+     * @param kingSide the letter of the king side castle
+     * @param queenSide the letter of the queen side castle
+     */
+    private static void appendCastling(StringBuilder fen, Board board, Color color, char kingSide, char queenSide) {
+        int king = color == Color.White ? 60 : 4;
+        if (board.getPieceAtCoordinate(king) != Piece.of(PieceType.KING, color) || !board.isFirstMove(king))
+            return;
+        Piece rook = Piece.of(PieceType.ROOK, color);
+        if (board.getPieceAtCoordinate(king + 3) == rook && board.isFirstMove(king + 3))
+            fen.append(kingSide);
+        if (board.getPieceAtCoordinate(king - 4) == rook && board.isFirstMove(king - 4))
+            fen.append(queenSide);
+    }
+
+    /**
+     * find the coordinate of a name, like e4
+     * @param name the name of the coordinate
+     * @return the coordinate, or -1 if the name is not valid
+     */
+    public static int coordinateOf(String name) {
+        if (name.length() != 2)
+            return -1;
+        int column = name.charAt(0) - 'a';
+        int row = '8' - name.charAt(1);
+        if (column < 0 || column > 7 || row < 0 || row > 7)
+            return -1;
+        return row * 8 + column;
+    }
+
+    /**
+     * get the name of a coordinate, like e4
+     * @param coordinate the coordinate
+     * @return the name of the coordinate
+     */
+    public static String coordinateName(int coordinate) {
+        return "" + (char) ('a' + coordinate % 8) + (8 - coordinate / 8);
+    }
+
+    /**
+     * get the name of an encoded move by its coordinates, like e2e4, with a q for a pawn promotion
+     * @param move the encoded move
+     * @return the name of the move
+     */
+    public static String moveName(int move) {
+        String name = coordinateName(MoveEncoding.getFrom(move)) + coordinateName(MoveEncoding.getTo(move));
+        if (MoveEncoding.isPawnPromotion(move))
+            name += Character.toLowerCase(PIECE_LETTERS.charAt(MoveEncoding.getPromotion(move)));
+        return name;
+    }
+}
@@ -0,0 +1,132 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * this class represent the history of a game: the keys of the boards before the moves of the game, the moves that
+ * were made on them, and if the moves can't be reversed(attack and pawn moves).
+ * one history is shared by a board and the boards that continue it, so the boards don't need to keep their previous
+ * boards. a move is only added after the last move of the history, so the moves a board reads never change: a board
+ * that branches from a board that was already continued(a sibling of a board, like a trial move) gets a copy of the
+ * last moves, the boards before an irreversible move can't come back anyway
+ * @see Board#getHistory()
+ */
+public class GameHistory {
+    // the moves a copy keeps, more than the max number of moves without eat
+    private static final int CAPACITY = 128;
+    // the room a copy has for the moves after it, it grows when it is filled
+    private static final int BRANCH_ROOM = 8;
+    // the moves are kept by their ply minus the base, the ply of the first kept move.
+    // the arrays are replaced when they grow, so a board that reads them while another board is made sees full arrays
+    private volatile long[] keys;
+    private volatile int[] moves;
+    private volatile boolean[] irreversible;
+    private final int base;
+    // the number of moves in the game after the last move of the history, the ply of its last board
+    private int size;
+
+    public GameHistory() {
+        this(0, CAPACITY);
+    }
+
+    /**
+     * Constructor for the GameHistory class
+     * @param base the ply of the first kept move
+     * @param capacity the number of moves the arrays have room for
+     */
+    private GameHistory(int base, int capacity) {
+        this.keys = new long[capacity];
+        this.moves = new int[capacity];
+        this.irreversible = new boolean[capacity];
+        this.base = base;
+        this.size = base;
+    }
+
+    /**
+     * add a move to the history of a board
+     * @param ply the number of moves in the game before the move, the ply of the board the move was made on
+     * @param key the key of the board the move was made on
+     * @param move the encoded move
+     * @return this history if the board is its last board, or else a copy of the last moves before the board
+     * with the move
+     */
+    public synchronized GameHistory record(int ply, long key, int move) {
+        GameHistory history = this;
+        if (ply != size) {
+            // another move was already made on the board, the boards after it keep their moves
+            int first = Math.max(base, ply - CAPACITY);
+            history = new GameHistory(first, ply - first + BRANCH_ROOM);
+            System.arraycopy(keys, first - base, history.keys, 0, ply - first);
+            System.arraycopy(moves, first - base, history.moves, 0, ply - first);
+            System.arraycopy(irreversible, first - base, history.irreversible, 0, ply - first);
+            history.size = ply;
+        }
+        history.append(key, move);
+        return history;
+    }
+
+    /**
+     * add a move after the last move of the history
+     * @param key the key of the board the move was made on
+     * @param move the encoded move
+     */
+    private synchronized void append(long key, int move) {
+        int index = size - base;
+        if (index == keys.length) {
+            // the arrays are filled before they are published
+            boolean[] grownIrreversible = Arrays.copyOf(irreversible, index * 2);
+            int[] grownMoves = Arrays.copyOf(moves, index * 2);
+            long[] grownKeys = Arrays.copyOf(keys, index * 2);
+            irreversible = grownIrreversible;
+            moves = grownMoves;
+            keys = grownKeys;
+        }
+        keys[index] = key;
+        moves[index] = move;
+        // attack and pawn moves initialize the moves without eat
+        irreversible[index] = MoveEncoding.isAttack(move) || MoveEncoding.isPawnMove(move);
+        size++;
+    }
+
+    /**
+     * get the key of the board before a move
+     * @param ply the number of moves in the game before the move
+     * @return the key of the board
+     */
+    public long getKey(int ply) {
+        return keys[ply - base];
+    }
+
+    /**
+     * get a move of the game
+     * @param ply the number of moves in the game before the move
+     * @return the encoded move
+     */
+    public int getMove(int ply) {
+        return moves[ply - base];
+    }
+
+    /**
+     * find how many moves back from a ply are kept in the history
+     * @param ply the number of moves in the game
+     * @return the number of the kept moves
+     */
+    public int keptMoves(int ply) {
+        return ply - base;
+    }
+
+    /**
+     * find how many moves back from a ply are kept in the history and are not before an irreversible move,
+     * the boards before these moves are the boards that can repeat
+     * @param ply the number of moves in the game
+     * @return the number of the reversible moves
+     */
+    public int reversibleMoves(int ply) {
+        int limit = keptMoves(ply);
+        boolean[] irreversible = this.irreversible;
+        int count = 0;
+        while (count < limit && !irreversible[ply - 1 - count - base])
+            count++;
+        return count;
+    }
+}
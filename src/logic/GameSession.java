@@ -0,0 +1,138 @@
+package logic;
+
+import gui.Result;
+import logic.player.AI.TranspositionTable;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * this class represent a game hosted by a game session manager: the game runs on its own game thread, the moves
+ * of the AI players are searched by the search workers of the manager and the moves of the other players are
+ * given to the session
+ * @see GameSessionManager
+ */
+public class GameSession {
+    private final GameSessionManager manager;
+    // the table of the searches of the game, the table of the manager or a table of the session
+    private final TranspositionTable transpositionTable;
+    // the depth of a search, or 0 for an iterative deepening search of the max time
+    private final int depth;
+    private final long maxTime;
+    // called with the board after every move
+    private final Consumer<Board> listener;
+    // the moves of the players who are not AI, in the order they were given
+    private final BlockingQueue<Move> playerMoves = new LinkedBlockingQueue<>();
+    private final CompletableFuture<Result> result = new CompletableFuture<>();
+    private volatile Board board;
+    // the task of the game thread
+    private volatile Future<?> game;
+
+    /**
+     * Constructor for the GameSession class
+     * @param manager the manager that hosts the game
+     * @param board the board the game starts from
+     * @param transpositionTable the table of the searches of the game
+     * @param depth the depth of a search, or 0 for an iterative deepening search
+     * @param maxTime the time of an iterative deepening search, in milliseconds
+     * @param listener called with the board after every move, on the game thread
+     */
+    GameSession(GameSessionManager manager, Board board, TranspositionTable transpositionTable, int depth,
+                long maxTime, Consumer<Board> listener) {
+        this.manager = manager;
+        this.board = board;
+        this.transpositionTable = transpositionTable;
+        this.depth = depth;
+        this.maxTime = maxTime;
+        this.listener = listener;
+    }
+
+    /**
+     * play the game until it is finished, on the game thread: the moves of the AI players are searched and
+     * the moves of the other players are waited for. an illegal move of a player is ignored, and a move of an
+     * AI player that can't be made fails the game
+     */
+    void play() {
+        Throwable failure = null;
+        try {
+            while (board.gameResult() == Result.NOT_FINISHED) {
+                boolean isAi = board.getTurn().isAi;
+                Move move = isAi ? manager.search(this) : playerMoves.take();
+                MoveTransition moveTransition = board.getTurn().makeMove(move);
+                if (moveTransition.getMoveStatus() == Move.MoveStatus.DONE) {
+                    board = moveTransition.getToBoard();
+                    listener.accept(board);
+                }
+                // searching the same board again would find the same move
+                else if (isAi)
+                    throw new IllegalStateException("the search found a move that can't be made: " + move);
+            }
+        } catch (InterruptedException | RuntimeException e) {
+            failure = e;
+        } catch (ExecutionException e) {
+            failure = e.getCause();
+        }
+        // the manager forgets the game before its result is known
+        manager.finished(this);
+        if (failure == null)
+            result.complete(board.gameResult());
+        else if (failure instanceof InterruptedException)
+            result.cancel(false);
+        else
+            result.completeExceptionally(failure);
+    }
+
+    /**
+     * give the move of a player who is not AI, it is made when it's the player's turn
+     * @param move the move, of the board of the session when it's made
+     */
+    public void makeMove(Move move) {
+        playerMoves.add(move);
+    }
+
+    /**
+     * stop the game, the search of the game that was started is finished but its move is not made
+     */
+    public void cancel() {
+        if (game != null)
+            game.cancel(true);
+        result.cancel(false);
+    }
+
+    // setter
+    void setGame(Future<?> game) {
+        this.game = game;
+    }
+
+    // getter
+    public Board getBoard() {
+        return board;
+    }
+
+    // getter
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    // getter
+    public int getDepth() {
+        return depth;
+    }
+
+    // getter
+    public long getMaxTime() {
+        return maxTime;
+    }
+
+    /**
+     * get the result of the game, it is completed when the game is finished and cancelled if the game was stopped
+     * @return the future of the result
+     */
+    public CompletableFuture<Result> getResult() {
+        return result;
+    }
+}
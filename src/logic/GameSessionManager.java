@@ -0,0 +1,235 @@
+package logic;
+
+import logic.player.AI.SearchEngine;
+import logic.player.AI.TranspositionTable;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * this class hosts many games at once. every game runs on its own game thread, a virtual thread when the runtime
+ * has them, that only waits while its moves are searched. the searches are run by a fixed number of search
+ * workers(by default a worker for every core), each with its own search engine, and the searches that come
+ * when all the workers are busy wait in a queue in the order they came, so a search is never slowed down
+ * by more searches than the cores can run.
+ * the games share one transposition table, or every game has a table of its own.
+ * the age of the shared table is advanced by the manager, once every game made about one search, so the entries
+ * of a game are not aged by the searches of the other games
+ * @see GameSession
+ * @see SearchEngine
+ */
+public class GameSessionManager implements AutoCloseable {
+    /**
+     * Enum of the transposition tables of the games
+     */
+    public enum TablePolicy {
+        // all the games use the table of the manager
+        SHARED,
+        // every game has a table of its own, the memory of the tables grows with the number of games
+        PER_SESSION
+    }
+
+    private final TablePolicy tablePolicy;
+    private final int hashMegabytes;
+    // the table of all the games, null if every game has a table of its own
+    private final TranspositionTable sharedTable;
+    private final ExecutorService games;
+    private final ThreadPoolExecutor searches;
+    // the engines of the search workers, an engine is taken for a search and given back after it
+    private final BlockingQueue<SearchEngine> engines;
+    private final Set<GameSession> sessions = ConcurrentHashMap.newKeySet();
+    // the searches of the games since the age of the shared table was advanced
+    private int searchesOfAge;
+
+    /**
+     * Constructor for the GameSessionManager class, with a search worker for every core and a shared
+     * transposition table of the default size
+     */
+    public GameSessionManager() {
+        this(Runtime.getRuntime().availableProcessors(), TablePolicy.SHARED, SearchEngine.DEFAULT_HASH_MEGABYTES);
+    }
+
+    /**
+     * Constructor for the GameSessionManager class
+     * @param searchWorkers the number of searches that run at once
+     * @param tablePolicy the transposition tables of the games
+     * @param hashMegabytes the memory budget of the shared table, or of the table of every game. with a table of
+     *                      every game the budget must be small enough for all the games at once, like 4 MB for
+     *                      hundreds of games
+     * @throws IllegalArgumentException if the number of search workers is smaller than 1
+     */
+    public GameSessionManager(int searchWorkers, TablePolicy tablePolicy, int hashMegabytes) {
+        if (searchWorkers < 1)
+            throw new IllegalArgumentException("the games need at least one search worker: " + searchWorkers);
+        this.tablePolicy = tablePolicy;
+        this.hashMegabytes = hashMegabytes;
+        this.sharedTable = tablePolicy == TablePolicy.SHARED ? new TranspositionTable(hashMegabytes) : null;
+        this.games = newGameExecutor();
+        this.searches = new ThreadPoolExecutor(searchWorkers, searchWorkers, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("search worker"));
+        // the table of an engine is set before every search
+        this.engines = new ArrayBlockingQueue<>(searchWorkers);
+        for (int i = 0; i < searchWorkers; i++) {
+            SearchEngine engine = new SearchEngine(sharedTable, 1);
+            // the manager advances the age of the shared table
+            engine.setAgingTable(tablePolicy == TablePolicy.PER_SESSION);
+            engines.add(engine);
+        }
+    }
+
+    /**
+     * create the executor of the game threads: a virtual thread for every game when the runtime has them(Java 21),
+     * or else a platform thread for every game
+     * @return the executor of the games
+     */
+    private static ExecutorService newGameExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(daemonThreads("game"));
+        }
+    }
+
+    /**
+     * create a factory of daemon threads, so the games don't keep the program alive
+     * @param name the name of the threads, they are numbered from 1
+     * @return the thread factory
+     */
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + " " + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * start a game on its own game thread
+     * @param board the board the game starts from
+     * @param depth the depth of a search, or 0 for an iterative deepening search of the max time
+     * @param maxTime the time of an iterative deepening search, in milliseconds
+     * @param listener called with the board after every move, on the game thread
+     * @return the session of the game
+     * @throws IllegalStateException if every game has a table of its own and the memory can't hold another table
+     */
+    public GameSession start(Board board, int depth, long maxTime, Consumer<Board> listener) {
+        if (tablePolicy == TablePolicy.PER_SESSION
+                && ((long) hashMegabytes << 20) * (sessions.size() + 1) > Runtime.getRuntime().maxMemory())
+            throw new IllegalStateException("the memory can't hold the tables of " + (sessions.size() + 1)
+                    + " games of " + hashMegabytes + " MB");
+        TranspositionTable table = tablePolicy == TablePolicy.SHARED ? sharedTable : new TranspositionTable(hashMegabytes);
+        GameSession session = new GameSession(this, board, table, depth, maxTime, listener);
+        sessions.add(session);
+        session.setGame(games.submit(session::play));
+        return session;
+    }
+
+    /**
+     * start a game on its own game thread, with searches of a given depth
+     * @param board the board the game starts from
+     * @param depth the depth of a search
+     * @return the session of the game
+     */
+    public GameSession start(Board board, int depth) {
+        return start(board, depth, SearchEngine.DEFAULT_MAX_TIME, b -> {});
+    }
+
+    /**
+     * search the move of the player who it's his turn in a game, on a search worker. the game thread waits for
+     * the search, the search waits in the queue if all the search workers are busy
+     * @param session the session of the game
+     * @return the best move
+     * @throws InterruptedException if the game thread was interrupted while waiting, the search is cancelled
+     * @throws ExecutionException if the search failed
+     */
+    Move search(GameSession session) throws InterruptedException, ExecutionException {
+        Board board = session.getBoard();
+        // the stop of this search, it stops the search even if it didn't start yet
+        AtomicBoolean stopSignal = new AtomicBoolean();
+        Future<Move> search = searches.submit(() -> {
+            SearchEngine engine = engines.take();
+            try {
+                engine.setTranspositionTable(session.getTranspositionTable());
+                engine.setStopSignal(stopSignal);
+                // the engine keeps the settings of the last search it served, so all of them are set for this one
+                engine.setMaxTime(session.getDepth() > 0 ? SearchEngine.NO_TIME_LIMIT : session.getMaxTime());
+                if (session.getDepth() > 0)
+                    return engine.MiniMaxAB(board, session.getDepth());
+                return engine.IterativeDeepening(board);
+            } finally {
+                engines.add(engine);
+                searchFinished();
+            }
+        });
+        try {
+            return search.get();
+        } catch (InterruptedException e) {
+            stopSignal.set(true);
+            search.cancel(false);
+            throw e;
+        }
+    }
+
+    /**
+     * advance the age of the shared table once every game made about one search since the last time, the entries
+     * that were not used by any game since then are replaced first
+     */
+    private synchronized void searchFinished() {
+        if (sharedTable == null)
+            return;
+        searchesOfAge++;
+        if (searchesOfAge >= sessions.size()) {
+            searchesOfAge = 0;
+            sharedTable.newSearch();
+        }
+    }
+
+    /**
+     * forget a game that is finished
+     * @param session the session of the game
+     */
+    void finished(GameSession session) {
+        sessions.remove(session);
+    }
+
+    /**
+     * get the number of games that are not finished
+     * @return the number of games
+     */
+    public int getActiveSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * get the number of searches that wait for a search worker
+     * @return the number of searches in the queue
+     */
+    public int getQueuedSearches() {
+        return searches.getQueue().size();
+    }
+
+    /**
+     * stop all the games and the search workers
+     */
+    @Override
+    public void close() {
+        for (GameSession session : sessions)
+            session.cancel();
+        games.shutdownNow();
+        searches.shutdownNow();
+    }
+}
@@ -1,7 +1,7 @@
 package logic;
 
 import logic.Pieces.Piece;
-import logic.Pieces.Queen;
+import logic.Pieces.PieceType;
 import logic.Pieces.Rook;
 
 /**
@@ -10,24 +10,32 @@ import logic.Pieces.Rook;
 public abstract class Move {
     protected Board board;
     protected Piece pieceMoved;
+    protected int coordinateMovedFrom;
     protected int coordinateMovedTo;
 
     /**
      * Constructor for the Move class
      * @param board the board we make the move in
      * @param pieceMoved the piece that moved in this Move
+     * @param coordinateMovedFrom the coordinate on the board that the Piece moved from
      * @param coordinateMovedTo the coordinate on the board that the Piece moved to
      * @see Board
      */
-    public Move(Board board, Piece pieceMoved, int coordinateMovedTo) {
+    public Move(Board board, Piece pieceMoved, int coordinateMovedFrom, int coordinateMovedTo) {
         this.board = board;
         this.pieceMoved = pieceMoved;
+        this.coordinateMovedFrom = coordinateMovedFrom;
         this.coordinateMovedTo = coordinateMovedTo;
     }
     public enum MoveStatus {
         DONE, UNDONE, LEFT_IN_CHECK
     }
 
+    // getter
+    public int getCoordinateMovedFrom() {
+        return coordinateMovedFrom;
+    }
+
     // getter
     public int getCoordinateMovedTo() {
         return coordinateMovedTo;
@@ -73,24 +81,12 @@ public abstract class Move {
      * @return the Board object after making this move
      */
     public Board executeMove() {
-        // create new builder
-        final Board.BoardBuilder builder = new Board.BoardBuilder();
-        // put back the unchanged attributes
-        builder.isWhiteAi = board.getWhitePlayer().isAi;
-        builder.isBlackAi = board.getBlackPlayer().isAi;
-        builder.whiteHasCastled = board.getWhitePlayer().isHasCastled();
-        builder.blackHasCastled = board.getBlackPlayer().isHasCastled();
+        // create new builder with the attributes and the pieces of the board
+        final Board.BoardBuilder builder = new Board.BoardBuilder(board);
         // add to the moves without eat 1
         builder.movesWithoutEat = board.getMovesWithoutEat() + 1;
-        // set turn player pieces
-        this.board.getTurn().getActivePieces().stream().filter(piece -> !this.pieceMoved.equals(piece)).forEach(builder::setPiece);
-        // set enemy pieces
-        this.board.getOpponent().getActivePieces().forEach(builder::setPiece);
-        // clone the moved piece
-        Piece piece = pieceMoved.clone();
-        // move the piece
-        piece.movePiece(this);
-        builder.setPiece(piece);
+        // move the piece, over the attacked piece if there is one
+        builder.movePiece(coordinateMovedFrom, coordinateMovedTo);
         // change turn
         builder.setTurn(this.board.getOpponent().getColor());
         // set the move transition
@@ -102,8 +98,8 @@ public abstract class Move {
      * this class represent a regular move
      */
     public static class MajorMove extends Move{
-        public MajorMove(Board board, Piece pieceMoved, int coordinateMovedTo) {
-            super(board, pieceMoved, coordinateMovedTo);
+        public MajorMove(Board board, Piece pieceMoved, int coordinateMovedFrom, int coordinateMovedTo) {
+            super(board, pieceMoved, coordinateMovedFrom, coordinateMovedTo);
         }
 
         @Override
@@ -118,9 +114,9 @@ public abstract class Move {
      */
     public static class AttackMove extends Move{
         Piece attackedPiece;
-        public AttackMove(Board board, Piece pieceMoved, int coordinateMovedTo, Piece
+        public AttackMove(Board board, Piece pieceMoved, int coordinateMovedFrom, int coordinateMovedTo, Piece
                           attackedPiece) {
-            super(board, pieceMoved, coordinateMovedTo);
+            super(board, pieceMoved, coordinateMovedFrom, coordinateMovedTo);
             this.attackedPiece = attackedPiece;
         }
 
@@ -150,8 +146,8 @@ public abstract class Move {
      */
     public static class PawnMove extends Move{
 
-        public PawnMove(Board board, Piece pieceMoved, int coordinateMovedTo) {
-            super(board, pieceMoved, coordinateMovedTo);
+        public PawnMove(Board board, Piece pieceMoved, int coordinateMovedFrom, int coordinateMovedTo) {
+            super(board, pieceMoved, coordinateMovedFrom, coordinateMovedTo);
 
         }
 
@@ -161,30 +157,18 @@ public abstract class Move {
         @Override
         public Board executeMove()
         {
-            // create new board builder
-            final Board.BoardBuilder builder = new Board.BoardBuilder();
-            // put back the unchanged attributes
-            builder.isWhiteAi = board.getWhitePlayer().isAi;
-            builder.isBlackAi = board.getBlackPlayer().isAi;
-            builder.whiteHasCastled = board.getWhitePlayer().isHasCastled();
-            builder.blackHasCastled = board.getBlackPlayer().isHasCastled();
+            // create new board builder with the attributes and the pieces of the board
+            final Board.BoardBuilder builder = new Board.BoardBuilder(board);
             // pawn move initialized moves without eat
             builder.movesWithoutEat = 0;
-            // set the turn player pieces
-            this.board.getTurn().getActivePieces().stream().filter(piece -> !this.pieceMoved.equals(piece)).forEach(builder::setPiece);
-            // set the enemy player pieces
-            this.board.getOpponent().getActivePieces().forEach(builder::setPiece);
-            // clone the moved piece
-            Piece piece = pieceMoved.clone();
-            // move the piece
-            piece.movePiece(this);
-            // set the piece in the builder
-            builder.setPiece(piece);
+            // move the pawn, over the attacked piece if there is one
+            builder.movePiece(coordinateMovedFrom, coordinateMovedTo);
             // check if pawn promotion
-            if(isLastRow(coordinateMovedTo, piece.getColor()))
-                builder.setPiece(new Queen(this.coordinateMovedTo, piece.getColor(), true));
-            else
-                builder.setPiece(piece);
+            if(isLastRow(coordinateMovedTo, pieceMoved.getColor()))
+                builder.setPiece(coordinateMovedTo, Piece.of(PieceType.QUEEN, pieceMoved.getColor()));
+            // a pawn that moved two rows passed over the coordinate between them
+            else if(Math.abs(coordinateMovedTo - coordinateMovedFrom) == 16)
+                builder.enPassantCoordinate = (coordinateMovedFrom + coordinateMovedTo) / 2;
             // change turn
             builder.setTurn(this.board.getOpponent().getColor());
             // set the move transition
@@ -218,8 +202,8 @@ public abstract class Move {
      */
     public static class PawnAttackMove extends AttackMove{
 
-        public PawnAttackMove(Board board, Piece pieceMoved, int coordinateMovedTo, Piece attackedPiece) {
-            super(board, pieceMoved, coordinateMovedTo,attackedPiece);
+        public PawnAttackMove(Board board, Piece pieceMoved, int coordinateMovedFrom, int coordinateMovedTo, Piece attackedPiece) {
+            super(board, pieceMoved, coordinateMovedFrom, coordinateMovedTo, attackedPiece);
         }
         /**
          * {@inheritDoc}
@@ -227,30 +211,15 @@ public abstract class Move {
         @Override
         public Board executeMove()
         {
-            // create new board builder
-            final Board.BoardBuilder builder = new Board.BoardBuilder();
-            // put back the unchanged attributes
-            builder.isWhiteAi = board.getWhitePlayer().isAi;
-            builder.isBlackAi = board.getBlackPlayer().isAi;
+            // create new board builder with the attributes and the pieces of the board
+            final Board.BoardBuilder builder = new Board.BoardBuilder(board);
             // pawn move initialized moves without eat
             builder.movesWithoutEat = 0;
-            builder.whiteHasCastled = board.getWhitePlayer().isHasCastled();
-            builder.blackHasCastled = board.getBlackPlayer().isHasCastled();
-            // set the turn player pieces
-            this.board.getTurn().getActivePieces().stream().filter(piece -> !this.pieceMoved.equals(piece)).forEach(builder::setPiece);
-            // set the enemy player pieces
-            this.board.getOpponent().getActivePieces().forEach(builder::setPiece);
-            // clone the moved piece
-            Piece piece = pieceMoved.clone();
-            // move the piece
-            piece.movePiece(this);
-            // set the piece in the builder
-            builder.setPiece(piece);
+            // move the pawn, over the attacked piece if there is one
+            builder.movePiece(coordinateMovedFrom, coordinateMovedTo);
             // check if pawn promotion
             if(isLastRow(coordinateMovedTo, pieceMoved.getColor()))
-                builder.setPiece(new Queen(this.coordinateMovedTo, piece.getColor(), true));
-            else
-                builder.setPiece(piece);
+                builder.setPiece(coordinateMovedTo, Piece.of(PieceType.QUEEN, pieceMoved.getColor()));
             // change turn
             builder.setTurn(this.board.getOpponent().getColor());
             // set the move transition
@@ -266,8 +235,8 @@ public abstract class Move {
     }
     public static final class EnPassantPawnAttackMove extends PawnAttackMove{
 
-        public EnPassantPawnAttackMove(Board board, Piece pieceMoved, int coordinateMovedTo, Piece attackedPiece) {
-            super(board, pieceMoved, coordinateMovedTo, attackedPiece);
+        public EnPassantPawnAttackMove(Board board, Piece pieceMoved, int coordinateMovedFrom, int coordinateMovedTo, Piece attackedPiece) {
+            super(board, pieceMoved, coordinateMovedFrom, coordinateMovedTo, attackedPiece);
         }
     }
 
@@ -279,9 +248,9 @@ public abstract class Move {
         protected final int castleRookStart;
         protected final int castleRookDest;
 
-        CastleMove(Board board, Piece pieceMoved, int coordinateMovedTo, final Rook castleRook,
+        CastleMove(Board board, Piece pieceMoved, int coordinateMovedFrom, int coordinateMovedTo, final Rook castleRook,
                           final int castleRookStart, final int castleRookDest) {
-            super(board, pieceMoved, coordinateMovedTo);
+            super(board, pieceMoved, coordinateMovedFrom, coordinateMovedTo);
             this.castleRook = castleRook;
             this.castleRookStart = castleRookStart;
             this.castleRookDest = castleRookDest;
@@ -297,13 +266,8 @@ public abstract class Move {
          */
         @Override
         public Board executeMove() {
-            // create new board builder
-            final Board.BoardBuilder builder = new Board.BoardBuilder();
-            // put back the unchanged attributes
-            builder.isWhiteAi = board.getWhitePlayer().isAi;
-            builder.isBlackAi = board.getBlackPlayer().isAi;
-            builder.whiteHasCastled = board.getWhitePlayer().isHasCastled();
-            builder.blackHasCastled = board.getBlackPlayer().isHasCastled();
+            // create new board builder with the attributes and the pieces of the board
+            final Board.BoardBuilder builder = new Board.BoardBuilder(board);
             // put castled value
             if(board.getTurn().getColor() == Color.White)
                 builder.whiteHasCastled = true;
@@ -311,24 +275,9 @@ public abstract class Move {
                 builder.blackHasCastled = true;
             // moves without eat or pawns move + 1
             builder.movesWithoutEat = board.getMovesWithoutEat() + 1;
-            // set the turn payer pieces
-            for (final Piece piece : this.board.getTurn().getActivePieces()) {
-                if (!this.pieceMoved.equals(piece) && !this.castleRook.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-            // set the enemy pieces
-            this.board.getOpponent().getActivePieces().forEach(builder::setPiece);
-            // clone the moved piece
-            Piece piece = pieceMoved.clone();
-            // move the piece
-            piece.movePiece(this);
-            // set the piece to the board
-            builder.setPiece(piece);
-            // create new rook with the new attributes
-            builder.setPiece(new Rook(this.castleRookDest, this.castleRook.getColor(), true));
-            // set the rook first move to false
-            builder.boardState.get(castleRookDest).setFirstMove(false);
+            // move the king and the rook
+            builder.movePiece(coordinateMovedFrom, coordinateMovedTo);
+            builder.movePiece(castleRookStart, castleRookDest);
             // change turn
             builder.setTurn(this.board.getOpponent().getColor());
             // set the move transition
@@ -343,9 +292,9 @@ public abstract class Move {
      */
     public static final class KingSideCastleMove extends CastleMove {
 
-        public KingSideCastleMove(Board board, Piece pieceMoved, int coordinateMovedTo, final Rook castleRook,
-                                  final int castleRookStart, final int castleRookDest) {
-            super(board, pieceMoved, coordinateMovedTo, castleRook, castleRookStart,
+        public KingSideCastleMove(Board board, Piece pieceMoved, int coordinateMovedFrom, int coordinateMovedTo,
+                                  final Rook castleRook, final int castleRookStart, final int castleRookDest) {
+            super(board, pieceMoved, coordinateMovedFrom, coordinateMovedTo, castleRook, castleRookStart,
                    castleRookDest);
         }
 
@@ -355,9 +304,9 @@ public abstract class Move {
      */
     public static final class QueenSideCastleMove extends CastleMove{
 
-        public QueenSideCastleMove(Board board, Piece pieceMoved, int coordinateMovedTo, final Rook castleRook,
-                                   final int castleRookStart, final int castleRookDest) {
-            super(board, pieceMoved, coordinateMovedTo, castleRook, castleRookStart,
+        public QueenSideCastleMove(Board board, Piece pieceMoved, int coordinateMovedFrom, int coordinateMovedTo,
+                                   final Rook castleRook, final int castleRookStart, final int castleRookDest) {
+            super(board, pieceMoved, coordinateMovedFrom, coordinateMovedTo, castleRook, castleRookStart,
                     castleRookDest);
         }
     }
@@ -367,7 +316,7 @@ public abstract class Move {
     public final static class InvalidMove extends Move{
 
         public InvalidMove() {
-            super(null, null, -1);
+            super(null, null, -1, -1);
         }
 
     }
@@ -388,7 +337,7 @@ public abstract class Move {
                                       final int destinationCoordinate) {
             // check if the move exists
             for (final Move move : board.getTurn().getLegalMoves()) {
-                if (move.pieceMoved.getPosition() == currentCoordinate &&
+                if (move.coordinateMovedFrom == currentCoordinate &&
                         move.getCoordinateMovedTo() == destinationCoordinate) {
                     return move;
                 }
@@ -0,0 +1,138 @@
+package logic;
+
+/**
+ * this class contains static methods for the int encoding of a move that the search position use
+ * bits 0-5 are the coordinate the piece moved from, bits 6-11 are the coordinate the piece moved to,
+ * bits 12-14 are the kind of the move, bits 15-17 are the kind of the captured piece(only on attacks)
+ * and bits 18-20 are the kind of the piece a pawn is promoted to(pawn if the move isn't a promotion)
+ * Move objects are created from the encoding only for the gui
+ * @see Position
+ * @see BitBoard
+ */
+public final class MoveEncoding {
+    // the kinds of moves, same as the Move classes
+    public static final int MAJOR_MOVE = 0;
+    public static final int ATTACK_MOVE = 1;
+    public static final int PAWN_MOVE = 2;
+    public static final int PAWN_ATTACK_MOVE = 3;
+    public static final int KING_SIDE_CASTLE = 4;
+    public static final int QUEEN_SIDE_CASTLE = 5;
+
+    // value of no move(a move from a coordinate to itself is never made)
+    public static final int NO_MOVE = 0;
+
+    private MoveEncoding() {
+    }
+
+    /**
+     * encode a move that doesn't capture or promote to int
+     * @param from the coordinate the piece moved from
+     * @param to the coordinate the piece moved to
+     * @param kind the kind of the move
+     * @return the encoded move
+     */
+    public static int create(int from, int to, int kind) {
+        return from | (to << 6) | (kind << 12);
+    }
+
+    /**
+     * encode a move to int
+     * @param from the coordinate the piece moved from
+     * @param to the coordinate the piece moved to
+     * @param kind the kind of the move
+     * @param captured the kind of the captured piece, ignored if the move isn't an attack
+     * @param promotion the kind of the piece a pawn is promoted to, pawn if the move isn't a promotion
+     * @return the encoded move
+     * @see BitBoard
+     */
+    public static int create(int from, int to, int kind, int captured, int promotion) {
+        return from | (to << 6) | (kind << 12) | (captured << 15) | (promotion << 18);
+    }
+
+    // getter
+    public static int getFrom(int move) {
+        return move & 0x3f;
+    }
+
+    // getter
+    public static int getTo(int move) {
+        return (move >>> 6) & 0x3f;
+    }
+
+    // getter
+    public static int getKind(int move) {
+        return (move >>> 12) & 0x7;
+    }
+
+    // getter
+    public static int getCaptured(int move) {
+        return (move >>> 15) & 0x7;
+    }
+
+    // getter
+    public static int getPromotion(int move) {
+        return (move >>> 18) & 0x7;
+    }
+
+    // is attack move
+    public static boolean isAttack(int move) {
+        int kind = getKind(move);
+        return kind == ATTACK_MOVE || kind == PAWN_ATTACK_MOVE;
+    }
+
+    // is castle move
+    public static boolean isCastle(int move) {
+        int kind = getKind(move);
+        return kind == KING_SIDE_CASTLE || kind == QUEEN_SIDE_CASTLE;
+    }
+
+    // is pawn move
+    public static boolean isPawnMove(int move) {
+        int kind = getKind(move);
+        return kind == PAWN_MOVE || kind == PAWN_ATTACK_MOVE;
+    }
+
+    /**
+     * check if the move is pawn promotion
+     * @param move the encoded move
+     * @return true if a pawn is promoted, false otherwise
+     */
+    public static boolean isPawnPromotion(int move) {
+        return getPromotion(move) != BitBoard.PAWN;
+    }
+
+    /**
+     * encode a Move object of a board
+     * @param move the move to encode
+     * @return the encoded move, NO_MOVE for the null move
+     */
+    public static int encode(Move move) {
+        if (move == null || move.getPieceMoved() == null)
+            return NO_MOVE;
+        int kind;
+        if (move.isCastle())
+            kind = move instanceof Move.KingSideCastleMove ? KING_SIDE_CASTLE : QUEEN_SIDE_CASTLE;
+        else if (move instanceof Move.PawnAttackMove)
+            kind = PAWN_ATTACK_MOVE;
+        else if (move instanceof Move.PawnMove)
+            kind = PAWN_MOVE;
+        else if (move.isAttack())
+            kind = ATTACK_MOVE;
+        else
+            kind = MAJOR_MOVE;
+        int captured = move.isAttack() ? BitBoard.kindOf(BitBoard.pieceIndex(((Move.AttackMove) move).getAttackedPiece())) : BitBoard.PAWN;
+        // the pawns are always promoted to queens
+        int promotion = move.isPawnPromotion() ? BitBoard.QUEEN : BitBoard.PAWN;
+        return create(move.getCoordinateMovedFrom(), move.getCoordinateMovedTo(), kind, captured, promotion);
+    }
+
+    /**
+     * find the Move object of an encoded move on a given board
+     * @param board the board the move is made on
+     * @param move the encoded move
+     * @return the Move object, the invalid move if the move isn't possible on the board
+     */
+    public static Move decode(Board board, int move) {
+        return Move.MoveFactory.createMove(board, getFrom(move), getTo(move));
+    }
+}
@@ -0,0 +1,47 @@
+package logic;
+
+/**
+ * this class represent a list of encoded moves, backed by an int array
+ * @see MoveEncoding
+ */
+public class MoveList {
+    // more than the maximum number of moves in a chess position
+    private static final int CAPACITY = 256;
+    private final int[] moves;
+    private int size;
+
+    public MoveList() {
+        this.moves = new int[CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * add a move to the end of the list
+     * @param move the encoded move
+     */
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    // getter
+    public int get(int index) {
+        return moves[index];
+    }
+
+    // setter
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    // getter
+    public int size() {
+        return size;
+    }
+
+    /**
+     * remove all the moves from the list
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,349 @@
+package logic;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * this class counts the leaf nodes of the move tree of a board(perft), to check the move generation:
+ * the counts of the reference positions must not change when the move generation is changed.
+ * the leaves are counted in bulk, the legal moves on the last depth are counted without making them
+ * @see <a href="https://www.chessprogramming.org/Perft">
+ */
+public final class Perft {
+
+    /**
+     * a reference position and its node counts
+     * the engine has no en passant and promotes only to a queen, so some counts differ from the published ones
+     */
+    public static final class Reference {
+        public final String name;
+        public final String fen;
+        // the node counts by depth, from depth 1
+        public final long[] nodes;
+
+        Reference(String name, String fen, long... nodes) {
+            this.name = name;
+            this.fen = fen;
+            this.nodes = nodes;
+        }
+    }
+
+    // the reference positions, the counts were checked with both the Board and the Position move generation.
+    // the counts of the start to depth 4 and of the middle game are the published counts
+    public static final Reference[] REFERENCE_POSITIONS = {
+            new Reference("start", Fen.START_POSITION,
+                    20, 400, 8902, 197281, 4865351),
+            new Reference("kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                    48, 2038, 97766, 4068217),
+            new Reference("endgame", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                    14, 191, 2810, 43087, 671300),
+            new Reference("promotions", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                    6, 228, 8083, 320639, 11863533),
+            new Reference("castles", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                    41, 1373, 54007, 1806790),
+            new Reference("middle game", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                    46, 2079, 89890, 3894594)
+    };
+
+    // the smallest depth that is split into parallel tasks, smaller trees are counted by the task that reaches them
+    private static final int SPLIT_DEPTH = 4;
+    // the size of the perft hash of the parallel perft from the command line
+    private static final int HASH_MEGABYTES = 256;
+
+    private Perft() {
+    }
+
+    /**
+     * count the leaf nodes of the move tree of a position, with the search move generation
+     * @param position the position to count from, it is returned to the same state
+     * @param depth the depth of the tree
+     * @return the number of leaf nodes
+     */
+    public static long perft(Position position, int depth) {
+        if (depth == 0)
+            return 1;
+        MoveList moves = position.generateMoves(position.getTurn(), position.getMoveBuffer(Position.SEARCH_MOVES));
+        long nodes = 0;
+        // bulk counting, the legal moves of the last depth are not made
+        if (depth == 1) {
+            for (int i = 0; i < moves.size(); i++) {
+                if (position.isLegal(moves.get(i)))
+                    nodes++;
+            }
+            return nodes;
+        }
+        for (int i = 0; i < moves.size(); i++) {
+            if (position.makeMove(moves.get(i))) {
+                nodes += perft(position, depth - 1);
+                position.unmakeMove();
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * count the leaf nodes of the move tree of a position, with the counts of the positions that were already
+     * counted taken from a perft hash
+     * @param position the position to count from, it is returned to the same state
+     * @param depth the depth of the tree
+     * @param hash the perft hash, shared with the other threads
+     * @return the number of leaf nodes
+     */
+    public static long perft(Position position, int depth, PerftHash hash) {
+        // the last depth is counted in bulk, it is faster than the hash
+        if (depth <= 1)
+            return perft(position, depth);
+        long nodes = hash.get(position.getKey(), depth);
+        if (nodes >= 0)
+            return nodes;
+        nodes = 0;
+        MoveList moves = position.generateMoves(position.getTurn(), position.getMoveBuffer(Position.SEARCH_MOVES));
+        for (int i = 0; i < moves.size(); i++) {
+            if (position.makeMove(moves.get(i))) {
+                nodes += perft(position, depth - 1, hash);
+                position.unmakeMove();
+            }
+        }
+        hash.put(position.getKey(), depth, nodes);
+        return nodes;
+    }
+
+    /**
+     * count the leaf nodes of the move tree of a position on all the threads of a fork join pool: the moves of
+     * the big trees are split into tasks, and the tasks share a perft hash
+     * @param position the position to count from, it is not changed
+     * @param depth the depth of the tree
+     * @param pool the pool to run the tasks on
+     * @param hash the perft hash
+     * @return the number of leaf nodes
+     */
+    public static long parallelPerft(Position position, int depth, ForkJoinPool pool, PerftHash hash) {
+        return pool.invoke(new PerftTask(new Position(position), depth, hash));
+    }
+
+    /**
+     * this class counts a tree of the parallel perft, on its own copy of the position
+     */
+    private static final class PerftTask extends RecursiveTask<Long> {
+        // the tasks are never serialized, fork-join tasks are serializable only for the exceptions they throw
+        private static final long serialVersionUID = 1L;
+        private final Position position;
+        private final int depth;
+        private final PerftHash hash;
+
+        PerftTask(Position position, int depth, PerftHash hash) {
+            this.position = position;
+            this.depth = depth;
+            this.hash = hash;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Long compute() {
+            if (depth < SPLIT_DEPTH)
+                return perft(position, depth, hash);
+            long nodes = hash.get(position.getKey(), depth);
+            if (nodes >= 0)
+                return nodes;
+            // a task with a copy of the position for every legal move
+            List<PerftTask> tasks = new ArrayList<>();
+            MoveList moves = position.generateMoves();
+            for (int i = 0; i < moves.size(); i++) {
+                if (position.makeMove(moves.get(i))) {
+                    tasks.add(new PerftTask(new Position(position), depth - 1, hash));
+                    position.unmakeMove();
+                }
+            }
+            nodes = 0;
+            for (PerftTask task : invokeAll(tasks))
+                nodes += task.join();
+            hash.put(position.getKey(), depth, nodes);
+            return nodes;
+        }
+    }
+
+    /**
+     * count the leaf nodes of the move tree of a board, with the move generation of the pieces and the players
+     * @param board the board to count from
+     * @param depth the depth of the tree
+     * @return the number of leaf nodes
+     */
+    public static long perft(Board board, int depth) {
+        if (depth == 0)
+            return 1;
+        long nodes = 0;
+        for (Move move : board.getTurn().getLegalMoves()) {
+            // bulk counting, the legal moves of the last depth are not made
+            if (!board.isKingSafeAfter(move))
+                continue;
+            if (depth == 1)
+                nodes++;
+            else
+                nodes += perft(move.executeMove(), depth - 1);
+        }
+        return nodes;
+    }
+
+    /**
+     * count the leaf nodes under every legal move of a position, to find the move where two move generations differ
+     * @param position the position to count from, it is returned to the same state
+     * @param depth the depth of the tree, from the position
+     * @return the number of leaf nodes by the name of the move
+     * @see Fen#moveName(int)
+     */
+    public static Map<String, Long> divide(Position position, int depth) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        MoveList moves = position.generateMoves();
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (position.makeMove(move)) {
+                counts.put(Fen.moveName(move), perft(position, depth - 1));
+                position.unmakeMove();
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * count the nodes of a FEN with both move generations and print the counts and the nodes per second
+     * @param fen the FEN of the board
+     * @param depth the depth of the tree
+     * @return true if both move generations found the same count, false otherwise
+     */
+    private static boolean run(String fen, int depth) {
+        Board board = Fen.parse(fen).build();
+        long start = System.nanoTime();
+        long nodes = perft(new Position(board), depth);
+        long time = System.nanoTime() - start;
+        start = System.nanoTime();
+        long boardNodes = perft(board, depth);
+        long boardTime = System.nanoTime() - start;
+        System.out.println("depth " + depth + ": " + nodes + " nodes " + nodesPerSecond(nodes, time)
+                + " nps, board: " + boardNodes + " nodes " + nodesPerSecond(boardNodes, boardTime) + " nps");
+        return nodes == boardNodes;
+    }
+
+    /**
+     * count the nodes of all the reference positions and compare them to the expected counts
+     * @param maxDepth the deepest depth to count
+     * @return true if all the counts are as expected, false otherwise
+     */
+    private static boolean checkReferences(int maxDepth) {
+        boolean isCorrect = true;
+        for (Reference reference : REFERENCE_POSITIONS) {
+            Position position = new Position(Fen.parse(reference.fen).build());
+            for (int depth = 1; depth <= Math.min(maxDepth, reference.nodes.length); depth++) {
+                long start = System.nanoTime();
+                long nodes = perft(position, depth);
+                long time = System.nanoTime() - start;
+                boolean isExpected = nodes == reference.nodes[depth - 1];
+                isCorrect &= isExpected;
+                System.out.println(reference.name + " depth " + depth + ": " + nodes + " nodes "
+                        + nodesPerSecond(nodes, time) + " nps" + (isExpected ? "" : " expected " + reference.nodes[depth - 1]));
+            }
+        }
+        return isCorrect;
+    }
+
+    /**
+     * count the nodes of a FEN with the parallel perft on all the cores and print the count and the nodes per second
+     * @param fen the FEN of the board
+     * @param depth the depth of the tree
+     */
+    private static void runParallel(String fen, int depth) {
+        Position position = new Position(Fen.parse(fen).build());
+        PerftHash hash = new PerftHash(HASH_MEGABYTES);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        long start = System.nanoTime();
+        long nodes = parallelPerft(position, depth, pool, hash);
+        long time = System.nanoTime() - start;
+        System.out.println("depth " + depth + ": " + nodes + " nodes " + nodesPerSecond(nodes, time) + " nps on "
+                + pool.getParallelism() + " threads");
+    }
+
+    /**
+     * count the nodes of the positions of a perft suite, an EPD file with the node counts as operations
+     * like "D1 20; D2 400;", the file is read line by line
+     * @param path the path of the EPD file
+     * @param maxDepth the deepest depth to count
+     * @return true if all the counts are as expected, false otherwise
+     * @throws IOException if the file can't be read
+     */
+    private static boolean checkSuite(Path path, int maxDepth) throws IOException {
+        boolean isCorrect = true;
+        int lineNumber = 0;
+        try (Stream<Epd> suite = Epd.stream(path)) {
+            for (Epd epd : (Iterable<Epd>) suite::iterator) {
+                lineNumber++;
+                Position position = new Position(epd.toBuilder().build());
+                for (int depth = 1; depth <= maxDepth; depth++) {
+                    String expected = epd.getOperation("D" + depth);
+                    if (expected == null)
+                        break;
+                    long nodes = perft(position, depth);
+                    if (nodes != Long.parseLong(expected)) {
+                        isCorrect = false;
+                        System.out.println("position " + lineNumber + " depth " + depth + ": " + nodes
+                                + " nodes expected " + expected + " " + epd.getFen());
+                    }
+                }
+            }
+        }
+        System.out.println(lineNumber + " positions " + (isCorrect ? "correct" : "not correct"));
+        return isCorrect;
+    }
+
+    // the number of nodes per second
+    private static long nodesPerSecond(long nodes, long nanoseconds) {
+        return nanoseconds == 0 ? 0 : nodes * 1_000_000_000L / nanoseconds;
+    }
+
+    /**
+     * count nodes without the gui
+     * usage: perft depth [fen] | parallel depth [fen] | divide depth [fen] | reference [max depth]
+     * | suite file [max depth]
+     * @param args the command and its arguments
+     * @throws IOException if the suite file can't be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("usage: perft depth [fen] | parallel depth [fen] | divide depth [fen] | reference [max depth]"
+                    + " | suite file [max depth]");
+            return;
+        }
+        String fen = args.length > 2 ? String.join(" ", Arrays.copyOfRange(args, 2, args.length))
+                : Fen.START_POSITION;
+        boolean isCorrect = true;
+        switch (args[0]) {
+            case "perft" -> {
+                for (int depth = 1; depth <= Integer.parseInt(args[1]); depth++)
+                    isCorrect &= run(fen, depth);
+            }
+            case "parallel" -> runParallel(fen, Integer.parseInt(args[1]));
+            case "divide" -> {
+                long total = 0;
+                Position position = new Position(Fen.parse(fen).build());
+                for (Map.Entry<String, Long> entry : divide(position, Integer.parseInt(args[1])).entrySet()) {
+                    System.out.println(entry.getKey() + ": " + entry.getValue());
+                    total += entry.getValue();
+                }
+                System.out.println("total: " + total);
+            }
+            case "reference" -> isCorrect = checkReferences(args.length > 1 ? Integer.parseInt(args[1]) : Integer.MAX_VALUE);
+            case "suite" -> isCorrect = checkSuite(Path.of(args[1]), args.length > 2 ? Integer.parseInt(args[2]) : Integer.MAX_VALUE);
+            default -> System.out.println("unknown command " + args[0]);
+        }
+        if (!isCorrect)
+            System.exit(1);
+    }
+}
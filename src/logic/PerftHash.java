@@ -0,0 +1,63 @@
+package logic;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * this class is a hash table of perft node counts by the zobrist key and the depth, shared by the threads of
+ * a parallel perft without locks: every entry is two words, the key xor the data and the data, so an entry that
+ * was torn by two writes at the same time doesn't match its key and is ignored
+ * @see Perft
+ */
+public class PerftHash {
+    // the bits of the depth in the data word, the node count is above them
+    private static final int DEPTH_BITS = 8;
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+
+    private final AtomicLongArray entries;
+    private final int mask;
+
+    /**
+     * Constructor for the PerftHash class
+     * @param sizeInMegabytes the size of the table, rounded down to a power of two entries
+     */
+    public PerftHash(int sizeInMegabytes) {
+        // 16 bytes for an entry
+        long entryCount = Math.max(1, ((long) sizeInMegabytes << 20) / 16);
+        int size = (int) Long.highestOneBit(Math.min(entryCount, 1 << 29));
+        this.entries = new AtomicLongArray(size * 2);
+        this.mask = size - 1;
+    }
+
+    /**
+     * look for the node count of a position
+     * @param key the zobrist key of the position
+     * @param depth the depth of the count
+     * @return the node count, or -1 if it is not in the table
+     */
+    public long get(long key, int depth) {
+        int index = index(key, depth);
+        long data = entries.getOpaque(index + 1);
+        long check = entries.getOpaque(index);
+        if ((check ^ data) != key || (data & DEPTH_MASK) != depth)
+            return -1;
+        return data >>> DEPTH_BITS;
+    }
+
+    /**
+     * save the node count of a position, replacing the count that was in the entry
+     * @param key the zobrist key of the position
+     * @param depth the depth of the count
+     * @param nodes the node count
+     */
+    public void put(long key, int depth, long nodes) {
+        int index = index(key, depth);
+        long data = (nodes << DEPTH_BITS) | depth;
+        entries.setOpaque(index, key ^ data);
+        entries.setOpaque(index + 1, data);
+    }
+
+    // the index of the first word of the entry of a key and a depth, the depths of a key are in different entries
+    private int index(long key, int depth) {
+        return (((int) (key ^ (key >>> 32)) + depth) & mask) * 2;
+    }
+}
@@ -1,11 +1,11 @@
 package logic.Pieces;
 
+import logic.Attacks;
 import logic.Board;
 import logic.Color;
 import logic.Move;
 import logic.player.AI.GameStage;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -14,7 +14,7 @@ import java.util.List;
  * @see logic.Pieces.Piece
  */
 public class Knight extends Piece {
-    final int[] move_mask = {-17, -15, -10, -6, 17, 15, 10, 6};
+    private static final int[] MOVE_MASK = {-17, -15, -10, -6, 17, 15, 10, 6};
 
     // piece square table for white knight
     private final static double[] WHITE_KNIGHT_PREFERRED_COORDINATES = {
@@ -41,9 +41,8 @@ public class Knight extends Piece {
     };
 
 
-    public Knight(int position, Color color, boolean isFirstMove) {
-        super(position, color, isFirstMove);
-        this.value = 3.2;
+    Knight(Color color) {
+        super(PieceType.KNIGHT, color, 3.2);
     }
 
 
@@ -51,95 +50,27 @@ public class Knight extends Piece {
      * {@inheritDoc}
      */
     @Override
-    public double locationBonus(GameStage gameStage) {
-        return this.color == Color.White ? WHITE_KNIGHT_PREFERRED_COORDINATES[this.position] : BLACK_KNIGHT_PREFERRED_COORDINATES[this.position];
+    public double locationBonus(GameStage gameStage, int position) {
+        return locationBonus(this.color, position);
     }
 
     /**
-     * {@inheritDoc}
-     */
-    @Override
-    public List<Move> getLegalMoves(Board board) {
-        // TODO check if eating move needed
-        int possible_coordinate;
-        List<Move> legalMoves = new ArrayList<>();
-        for (int mask : move_mask) {
-            if (isExtremeCase(position, mask))
-                continue;
-            possible_coordinate = mask + position;
-            if (isValidCoordinate(possible_coordinate))
-                if (board.board_state.get(possible_coordinate) == null)
-                    // regular move
-                    legalMoves.add(new Move.MajorMove(board, this, possible_coordinate));
-                else if (!isFriendlyPieceOnCoordinate(board, possible_coordinate)) {
-                    legalMoves.add(new Move.AttackMove(board, this, possible_coordinate, board.getPieceAtCoordinate(possible_coordinate)));
-                }
-        }
-        return legalMoves;
-    }
-
-    /**
-     * this function use to check that a piece is not going out from one side of the board to the other
-     * because it's on first row or column or second row or column
-     * @param coordinate the coordinate the piece is in
-     * @param mask the mask we check in
-     * @return true if the move is illegal-false otherwise
-     */
-    public boolean isExtremeCase(int coordinate, int mask) {
-        return (isFirstColumnExtremeCase(coordinate, mask) || isSecondColumnExtremeCase(coordinate, mask)
-                || isFirstRowExtremeCase(coordinate, mask) || isSecondRowExtremeCase(coordinate, mask));
-    }
-
-    /**
-     * this function use to check that a piece is not going out from one side of the board to the other
-     * because it's on first column
-     * @param coordinate the coordinate the piece is in
-     * @param mask the mask we check in
-     * @return true if the move is illegal-false otherwise
+     * get the bonus for a knight location according to the knight Piece-Square Tables
+     * @param color the color of the knight
+     * @param coordinate the coordinate of the knight
+     * @return the bonus to add
      */
-    public boolean isFirstColumnExtremeCase(int coordinate, int mask) {
-        if (coordinate % 8 == 0 && (mask == -10 || mask == -17 || mask == 6 || mask == 15))
-            return true;
-        else return (coordinate + 1) % 8 == 0 && (mask == -15 || mask == -6 || mask == 17 || mask == 10);
+    public static double locationBonus(Color color, int coordinate) {
+        return color == Color.White ? WHITE_KNIGHT_PREFERRED_COORDINATES[coordinate] : BLACK_KNIGHT_PREFERRED_COORDINATES[coordinate];
     }
 
     /**
-     * this function use to check that a piece is not going out from one side of the board to the other
-     * because it's on second column
-     * @param coordinate the coordinate the piece is in
-     * @param mask the mask we check in
-     * @return true if the move is illegal-false otherwise
-     */
-    public boolean isSecondColumnExtremeCase(int coordinate, int mask) {
-        if ((coordinate - 1) % 8 == 0 && (mask == -10 || mask == 6))
-            return true;
-        else return (coordinate + 2) % 8 == 0 && (mask == -6 || mask == 10);
-    }
-
-    /**
-     * this function use to check that a piece is not going out from one side of the board to the other
-     * because it's on first row
-     * @param coordinate the coordinate the piece is in
-     * @param mask the mask we check in
-     * @return true if the move is illegal-false otherwise
-     */
-    public boolean isFirstRowExtremeCase(int coordinate, int mask) {
-        if ((coordinate >= 0 && coordinate <= 7) && (mask == -17 || mask == -15 || mask == -10 || mask == -6))
-            return true;
-        else return ((coordinate >= 56 && coordinate <= 63) && (mask == 17 || mask == 15 || mask == 10 || mask == 6));
-    }
-
-    /**
-     * this function use to check that a piece is not going out from one side of the board to the other
-     * because it's on second row
-     * @param coordinate the coordinate the piece is in
-     * @param mask the mask we check in
-     * @return true if the move is illegal-false otherwise
+     * {@inheritDoc}
      */
-    public boolean isSecondRowExtremeCase(int coordinate, int mask) {
-        if ((coordinate >= 8 && coordinate <= 15) && (mask == -17 || mask == -15))
-            return true;
-        else return ((coordinate >= 48 && coordinate <= 55) && (mask == 17 || mask == 15));
+    @Override
+    public List<Move> getLegalMoves(Board board, int position) {
+        // one lookup in the attack table, masked against the friendly pieces
+        return getLeaperMoves(board, position, Attacks.knightAttacks(position), MOVE_MASK);
     }
 
     @Override
@@ -1,5 +1,7 @@
 package logic.Pieces;
 
+import logic.Attacks;
+import logic.BitBoard;
 import logic.Board;
 import logic.Color;
 import logic.Move;
@@ -37,50 +39,53 @@ public class Pawn extends Piece {
             0,  0,  0,  0,  0,  0,  0,  0
     };
 
-    final int[] move_mask = {8, 16, 7 , 9};
+    private static final int[] MOVE_MASK = {8, 16, 7 , 9};
 
-    public Pawn(int position, Color color, boolean isFirstMove) {
-        super(position, color, isFirstMove);
-        this.value = 1;
+    Pawn(Color color) {
+        super(PieceType.PAWN, color, 1);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public double locationBonus(GameStage gameStage) {
-        return this.color == Color.White ? WHITE_PAWN_PREFERRED_COORDINATES[this.position] : BLACK_PAWN_PREFERRED_COORDINATES[this.position];
+    public double locationBonus(GameStage gameStage, int position) {
+        return locationBonus(this.color, position);
+    }
+
+    /**
+     * get the bonus for a pawn location according to the pawn Piece-Square Tables
+     * @param color the color of the pawn
+     * @param coordinate the coordinate of the pawn
+     * @return the bonus to add
+     */
+    public static double locationBonus(Color color, int coordinate) {
+        return color == Color.White ? WHITE_PAWN_PREFERRED_COORDINATES[coordinate] : BLACK_PAWN_PREFERRED_COORDINATES[coordinate];
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<Move> getLegalMoves(Board board) {
-        int possible_coordinate;
+    public List<Move> getLegalMoves(Board board, int position) {
         List<Move> legalMoves = new ArrayList<>();
-        for (int mask : move_mask) {
-            possible_coordinate = position + (mask * getDirection(color));
-            if (isValidCoordinate(possible_coordinate)) {
-                if(isFirstColumnExtremeCase(this.position, mask, color))
-                    continue;
-                if (mask == 8 && board.board_state.get(possible_coordinate) == null) {
-                    legalMoves.add(new Move.PawnMove(board, this, possible_coordinate));
-                }
-                else if (mask == 16 && board.board_state.get(possible_coordinate) == null &&
-                        board.board_state.get(possible_coordinate - 8 * getDirection(color)) == null && isFirstMove)
-                {
-                    legalMoves.add(new Move.PawnMove(board, this, possible_coordinate));
-                }
-                else if(mask == 7 && board.board_state.get(possible_coordinate) != null && !isFriendlyPieceOnCoordinate(board, possible_coordinate))
-                {
-                    legalMoves.add(new Move.PawnAttackMove(board, this, possible_coordinate, board.getPieceAtCoordinate(possible_coordinate)));
-                }
-                else if(mask == 9 && board.board_state.get(possible_coordinate) != null && !isFriendlyPieceOnCoordinate(board, possible_coordinate))
-                {
-                    legalMoves.add(new Move.PawnAttackMove(board, this, possible_coordinate, board.getPieceAtCoordinate(possible_coordinate)));
-                }
-            }
+        long pushes = Attacks.pawnPushes(color, position) & ~board.getOccupancy();
+        // two rows on the first move, if the row in front is empty
+        long doublePushes = BitBoard.EMPTY;
+        if (pushes != BitBoard.EMPTY && board.isFirstMove(position))
+            doublePushes = Attacks.pawnPushes(color, BitBoard.firstCoordinate(pushes)) & ~board.getOccupancy();
+        long attacks = Attacks.pawnAttacks(color, position) & board.getOccupancy() & ~board.getOccupancy(color);
+        for (int mask : MOVE_MASK) {
+            int possible_coordinate = position + (mask * getDirection(color));
+            if (!isValidCoordinate(possible_coordinate))
+                continue;
+            if (mask == 8 && BitBoard.isSet(pushes, possible_coordinate))
+                legalMoves.add(new Move.PawnMove(board, this, position, possible_coordinate));
+            else if (mask == 16 && BitBoard.isSet(doublePushes, possible_coordinate))
+                legalMoves.add(new Move.PawnMove(board, this, position, possible_coordinate));
+            // a jump that goes out from one side of the board to the other is not in the attacks
+            else if ((mask == 7 || mask == 9) && BitBoard.isSet(attacks, possible_coordinate))
+                legalMoves.add(new Move.PawnAttackMove(board, this, position, possible_coordinate, board.getPieceAtCoordinate(possible_coordinate)));
         }
         return legalMoves;
     }
@@ -91,20 +96,6 @@ public class Pawn extends Piece {
         return 1;
     }
 
-    /**
-     * this function use to check that a piece is not going out from one side of the board to the other
-     * because it's on first column
-     * @param coordinate the coordinate the piece is in
-     * @param mask the mask we check in
-     * @return true if the move is illegal-false otherwise
-     */
-    public boolean isFirstColumnExtremeCase(int coordinate, int mask, Color color) {
-        // TODO possible problem with direction
-        if (coordinate % 8 == 0 && ((mask == 7 && color == Color.Black)||(mask == 9 && color == Color.White)))
-            return true;
-        else return ((coordinate + 1) % 8 == 0 && ((mask == 9 && color == Color.Black)||(mask == 7 && color == Color.White)));
-    }
-
     @Override
     public String toString() {
         return color == Color.White ? "P" : "p";
@@ -1,43 +1,58 @@
 package logic.Pieces;
 
+import logic.BitBoard;
 import logic.Board;
 import logic.Color;
 import logic.Move;
 import logic.player.AI.GameStage;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 /**
- * this class is an abstract class of a piece on the board, and it extends by the spastic class of every piece
+ * this class is an abstract class of a piece on the board, and it extends by the spastic class of every piece.
+ * the pieces are immutable and shared: there is one piece for every type and color, and the board keeps
+ * the coordinates of the pieces and if they moved
  * @author dotanraif
+ * @see #of(PieceType, Color)
  */
-public abstract class Piece implements Cloneable {
+public abstract class Piece {
+    protected final PieceType type;
+    // the type and the color together, the index of the piece bitboard
+    protected final int code;
     protected final Color color;
-    protected int position;
-    protected boolean isFirstMove;
-    public double value;
+    public final double value;
 
     // getter
-    public Color getColor() {
-        return color;
+    public PieceType getType() {
+        return type;
     }
 
     // getter
-    public int getPosition() {
-        return position;
+    public int getCode() {
+        return code;
     }
 
     // getter
-    public boolean isFirstMove() {
-        return isFirstMove;
+    public Color getColor() {
+        return color;
     }
 
-    public Piece(int position, final Color color, boolean isFirstMove) {
-        this.position = position;
+    protected Piece(PieceType type, final Color color, double value) {
+        this.type = type;
+        this.code = type.code(color);
         this.color = color;
-        this.isFirstMove = isFirstMove;
-        this.value = getValue();
+        this.value = value;
+    }
+
+    /**
+     * get the shared piece of a type and a color
+     * @param type the type of the piece
+     * @param color the color of the piece
+     * @return the piece
+     */
+    public static Piece of(PieceType type, Color color) {
+        return Flyweights.PIECES[type.code(color)];
     }
 
     // getter
@@ -45,23 +60,21 @@ public abstract class Piece implements Cloneable {
         return value;
     }
 
-    // setter
-    public void setFirstMove(boolean firstMove) {
-        isFirstMove = firstMove;
-    }
-
     /**
      * get the bonus for the piece location according to her Piece-Square Tables
+     * @param gameStage the game stage
+     * @param position the coordinate of the piece
      * @return the bonus to add
      */
-    public abstract double locationBonus(GameStage gameStage);
+    public abstract double locationBonus(GameStage gameStage, int position);
 
     /**
      * finds all the legal moves for a piece in a given board
      * @param board the board we check in
+     * @param position the coordinate of the piece on the board
      * @return List of all the legal moves for a piece(some special moves not include)
      */
-    public abstract List<Move> getLegalMoves(Board board);
+    public abstract List<Move> getLegalMoves(Board board, int position);
 
     @Override
     public String toString() {
@@ -84,52 +97,74 @@ public abstract class Piece implements Cloneable {
      * @return true if the piece is friendly, else otherwise
      */
     public boolean isFriendlyPieceOnCoordinate(Board board, int coordinate) {
-        return board.board_state.get(coordinate) != null && board.board_state.get(coordinate).color == this.color;
+        return BitBoard.isSet(board.getOccupancy(this.color), coordinate);
     }
 
     /**
-     * changes the piece that been moved to the current attributes
-     * @param move the move we make
+     * find the moves of a leaping piece from the coordinates he attacks, the moves are listed in the order of the masks
+     * @param board the board we check in
+     * @param position the coordinate of the piece
+     * @param attacks the bitboard of the coordinates the piece attacks
+     * @param masks the jumps of the piece
+     * @return List of the moves of the piece
+     * @see logic.Attacks
      */
-    public void movePiece(Move move)
-    {
-        this.position = move.getCoordinateMovedTo();
-        this.isFirstMove = false;
+    protected List<Move> getLeaperMoves(Board board, int position, long attacks, int[] masks) {
+        List<Move> legalMoves = new ArrayList<>();
+        // the piece can't move to a friendly piece
+        attacks &= ~board.getOccupancy(this.color);
+        for (int mask : masks) {
+            int possible_coordinate = position + mask;
+            // a jump that goes out from one side of the board to the other is not in the attacks
+            if (isValidCoordinate(possible_coordinate) && BitBoard.isSet(attacks, possible_coordinate)) {
+                if (!board.isOccupied(possible_coordinate))
+                    // regular move
+                    legalMoves.add(new Move.MajorMove(board, this, position, possible_coordinate));
+                else
+                    legalMoves.add(new Move.AttackMove(board, this, position, possible_coordinate, board.getPieceAtCoordinate(possible_coordinate)));
+            }
+        }
+        return legalMoves;
     }
 
     /**
-     * equals override, check if object o is equal to this piece
-     * @param o object to check if equal
-     * @return true if all attributes equal, else false
+     * find the moves of a sliding piece from the coordinates he attacks, the moves are listed ray by ray
+     * from the piece outwards
+     * @param board the board we check in
+     * @param position the coordinate of the piece
+     * @param attacks the bitboard of the coordinates the piece attacks
+     * @param masks the directions the piece moves in
+     * @return List of the moves of the piece
+     * @see logic.Attacks
      */
-    @Override
-    public boolean equals(Object o) {
-        // if same
-        if (this == o) return true;
-        // if not the right class
-        if (o == null || getClass() != o.getClass()) return false;
-        // casting
-        Piece piece = (Piece) o;
-        // check if all attributes equal
-        return position == piece.position && color == piece.color;
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(color, position, isFirstMove);
+    protected List<Move> getSlidingMoves(Board board, int position, long attacks, int[] masks) {
+        List<Move> legalMoves = new ArrayList<>();
+        // a friendly piece ends the ray
+        attacks &= ~board.getOccupancy(this.color);
+        for (int mask : masks) {
+            int possible_coordinate = position + mask;
+            // while the coordinate is attacked, and the ray didn't go out from one side of the board to the other
+            while (isValidCoordinate(possible_coordinate) && BitBoard.isSet(attacks, possible_coordinate)
+                    && Math.abs(possible_coordinate % 8 - (possible_coordinate - mask) % 8) <= 1) {
+                if (!board.isOccupied(possible_coordinate))
+                    // regular move
+                    legalMoves.add(new Move.MajorMove(board, this, position, possible_coordinate));
+                else
+                    // attack move, the ray is blocked after it
+                    legalMoves.add(new Move.AttackMove(board, this, position, possible_coordinate, board.getPieceAtCoordinate(possible_coordinate)));
+                possible_coordinate += mask;
+            }
+        }
+        return legalMoves;
     }
 
-    /**
-     * shallow cloning for piece object
-     * @return return clone of the object
-     */
-    @Override
-    public Piece clone() {
-        try {
-            // TODO: copy mutable state here, so the clone can't change the internals of the original
-            return (Piece) super.clone();
-        } catch (CloneNotSupportedException e) {
-            throw new AssertionError();
-        }
+    // the shared pieces by their code, in a holder class so the subclasses are created after Piece is initialized
+    private static final class Flyweights {
+        private static final Piece[] PIECES = {
+                new Pawn(Color.White), new Knight(Color.White), new Bishop(Color.White),
+                new Rook(Color.White), new Queen(Color.White), new King(Color.White),
+                new Pawn(Color.Black), new Knight(Color.Black), new Bishop(Color.Black),
+                new Rook(Color.Black), new Queen(Color.Black), new King(Color.Black)
+        };
     }
 }
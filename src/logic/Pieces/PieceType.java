@@ -0,0 +1,33 @@
+package logic.Pieces;
+
+import logic.BitBoard;
+import logic.Color;
+
+/**
+ * Enum of the piece types, the ordinal of a type is his piece kind in the bitboards
+ * @see BitBoard
+ */
+public enum PieceType {
+    PAWN, KNIGHT, BISHOP, ROOK, QUEEN, KING;
+
+    // the types by their ordinal, values() copies the array on every call
+    private static final PieceType[] TYPES = values();
+
+    /**
+     * get the type of a piece kind
+     * @param kind the piece kind
+     * @return the piece type
+     */
+    public static PieceType of(int kind) {
+        return TYPES[kind];
+    }
+
+    /**
+     * get the combined code of the type and a color, the index of the piece bitboard
+     * @param color the color of the piece
+     * @return the piece code
+     */
+    public int code(Color color) {
+        return BitBoard.pieceIndex(ordinal(), color);
+    }
+}
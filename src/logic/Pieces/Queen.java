@@ -1,11 +1,11 @@
 package logic.Pieces;
 
+import logic.Attacks;
 import logic.Board;
 import logic.Color;
 import logic.Move;
 import logic.player.AI.GameStage;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -14,7 +14,7 @@ import java.util.List;
  * @see logic.Pieces.Piece
  */
 public class Queen extends Piece {
-    final int[] move_mask = {7, 9, -7, -9, 1, 8, -8, -1};
+    private static final int[] MOVE_MASK = {7, 9, -7, -9, 1, 8, -8, -1};
 
 
     // piece square table for white queen
@@ -40,62 +40,34 @@ public class Queen extends Piece {
             -0.1,  0,  0,  0,  0,  0,  0,-0.1,
             -0.2,-0.1,-0.1, -0.05, -0.05,-0.1,-0.1,-0.2
     };
-    public Queen(int position, Color color, boolean isFirstMove) {
-        super(position, color, isFirstMove);
-        this.value = 9;
+    Queen(Color color) {
+        super(PieceType.QUEEN, color, 9);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public double locationBonus(GameStage gameStage) {
-        return this.color == Color.White ? WHITE_QUEEN_PREFERRED_COORDINATES[this.position] : BLACK_QUEEN_PREFERRED_COORDINATES[this.position];
+    public double locationBonus(GameStage gameStage, int position) {
+        return locationBonus(this.color, position);
     }
+
     /**
-     * {@inheritDoc}
+     * get the bonus for a queen location according to the queen Piece-Square Tables
+     * @param color the color of the queen
+     * @param coordinate the coordinate of the queen
+     * @return the bonus to add
      */
-    @Override
-    public List<Move> getLegalMoves(Board board) {
-        int possible_coordinate;
-        List<Move> legalMoves = new ArrayList<>();
-        for (int mask : move_mask) {
-            possible_coordinate = position;
-            while (isValidCoordinate(possible_coordinate)) {
-                if (isFirstColumnExtremeCase(possible_coordinate, mask))
-                    break;
-                possible_coordinate += mask;
-                if (isValidCoordinate(possible_coordinate)) {
-                    if (board.board_state.get(possible_coordinate) == null)
-                        // regular move
-                        legalMoves.add(new Move.MajorMove(board, this, possible_coordinate));
-                    else if (!isFriendlyPieceOnCoordinate(board, possible_coordinate)) {
-                        // attack move
-                        // TODO check if eating move needed
-                        legalMoves.add(new Move.AttackMove(board, this, possible_coordinate, board.getPieceAtCoordinate(possible_coordinate)));
-                        break;
-                    } else
-                        // if friendly on dest
-                        break;
-                } else
-                    // if out of board
-                    break;
-            }
-        }
-        return legalMoves;
+    public static double locationBonus(Color color, int coordinate) {
+        return color == Color.White ? WHITE_QUEEN_PREFERRED_COORDINATES[coordinate] : BLACK_QUEEN_PREFERRED_COORDINATES[coordinate];
     }
-
     /**
-     * this function use to check that a piece is not going out from one side of the board to the other
-     * because it's on first column
-     * @param coordinate the coordinate the piece is in
-     * @param mask the mask we check in
-     * @return true if the move is illegal-false otherwise
+     * {@inheritDoc}
      */
-    public boolean isFirstColumnExtremeCase(int coordinate, int mask) {
-        if (coordinate % 8 == 0 && (mask == -1 || mask == -9 || mask == 7))
-            return true;
-        else return ((coordinate + 1) % 8 == 0 && (mask == 1 || mask == -7 || mask == 9));
+    @Override
+    public List<Move> getLegalMoves(Board board, int position) {
+        // one lookup in the attack tables instead of walking the rays
+        return getSlidingMoves(board, position, Attacks.queenAttacks(position, board.getOccupancy()), MOVE_MASK);
     }
 
     @Override
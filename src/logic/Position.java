@@ -0,0 +1,849 @@
+package logic;
+
+import gui.Result;
+import logic.player.AI.Zobrist;
+
+import java.util.Arrays;
+
+/**
+ * this class represent a mutable chess position for the search, the moves are made and unmade on the same
+ * object with an undo stack, instead of building a new Board for every move.
+ * the Board class stays the game state of the gui, a position is created from a board before a search
+ * @see Board
+ * @see MoveEncoding
+ */
+public class Position {
+    // the value of a coordinate without a piece
+    public static final int NO_PIECE = -1;
+    // the values of the piece kinds, same as the Piece classes
+    public static final double[] PIECE_VALUES = {1, 3.2, 3.3, 5, 9, 10000};
+    // the max number of moves that can be made on the position
+    public static final int MAX_PLY = 256;
+    // the castles of every color: king from, king to, rook from, rook to
+    private static final int[][] KING_SIDE_CASTLE = {{60, 62, 63, 61}, {4, 6, 7, 5}};
+    private static final int[][] QUEEN_SIDE_CASTLE = {{60, 58, 56, 59}, {4, 2, 0, 3}};
+    // the reusable move lists of every ply: the moves of the searched node, the moves of every color
+    // for the evaluation, and the moves for the legality check
+    public static final int SEARCH_MOVES = 0;
+    public static final int WHITE_MOVES = 1;
+    public static final int BLACK_MOVES = 2;
+    private static final int LEGALITY_MOVES = 3;
+    private static final int MOVE_BUFFERS_PER_PLY = 4;
+    // the first and the last rows, where the pawns are promoted
+    private static final long PROMOTION_ROWS = 0xFF000000000000FFL;
+
+    private final long[] bitboards;
+    private final long[] occupancy;
+    private final int[] pieces;
+    private Color turn;
+    // the coordinates of the pieces that didn't move yet
+    private long unmoved;
+    private final boolean[] hasCastled;
+    private int movesWithoutEat;
+    // the zobrist key of the position, updated on every move
+    private long key;
+    // the move that brought the game to the root position
+    private final int rootTransitionMove;
+
+    // the undo stack
+    private final int[] undoMove;
+    private final int[] undoCaptured;
+    private final int[] undoMovesWithoutEat;
+    private final long[] undoUnmoved;
+    private final long[] undoKey;
+    private int ply;
+
+    // the keys of the positions before every move of the game and of the search, for the repetition check
+    private final long[] history;
+    private int historySize;
+    // the number of keys in the history that are from the game before the search
+    private final int rootHistorySize;
+
+    // the move lists of every ply, created on their first use and reused by the search
+    private final MoveList[] moveBuffers;
+    // the moves of a single piece, for the pseudo legal check
+    private final MoveList pieceMoves;
+
+    // the pinned pieces and the checking pieces of the player who it's his turn on every ply,
+    // calculated on the first legality check of the ply
+    private final long[] pinned;
+    private final long[] checkers;
+    private final boolean[] isLegalityCalculated;
+    // if the player who it's his turn has a legal move and the game result on every ply, calculated once per ply
+    private final boolean[] hasLegalMoves;
+    private final boolean[] isHasLegalMoveCalculated;
+    private final Result[] results;
+
+    /**
+     * create an empty position with the undo stack and the per ply values
+     * @param rootTransitionMove the move that brought the game to the root position
+     * @param keptKeys the number of keys from before the root position that the history keeps
+     * @param rootHistorySize the number of keys in the history that are from the game before the search
+     */
+    private Position(int rootTransitionMove, int keptKeys, int rootHistorySize) {
+        this.rootTransitionMove = rootTransitionMove;
+        this.history = new long[keptKeys + MAX_PLY];
+        this.rootHistorySize = rootHistorySize;
+        this.bitboards = new long[BitBoard.PIECE_BITBOARDS];
+        this.occupancy = new long[2];
+        this.pieces = new int[Board.size];
+        this.hasCastled = new boolean[2];
+        this.undoMove = new int[MAX_PLY];
+        this.undoCaptured = new int[MAX_PLY];
+        this.undoMovesWithoutEat = new int[MAX_PLY];
+        this.undoUnmoved = new long[MAX_PLY];
+        this.undoKey = new long[MAX_PLY];
+        this.moveBuffers = new MoveList[(MAX_PLY + 1) * MOVE_BUFFERS_PER_PLY];
+        this.pieceMoves = new MoveList();
+        this.pinned = new long[MAX_PLY + 1];
+        this.checkers = new long[MAX_PLY + 1];
+        this.isLegalityCalculated = new boolean[MAX_PLY + 1];
+        this.hasLegalMoves = new boolean[MAX_PLY + 1];
+        this.isHasLegalMoveCalculated = new boolean[MAX_PLY + 1];
+        this.results = new Result[MAX_PLY + 1];
+    }
+
+    /**
+     * Constructor for the Position class
+     * @param board the board to create the position from
+     */
+    public Position(Board board) {
+        this(board.getLastMove(), reversibleMoves(board), reversibleMoves(board));
+        Arrays.fill(this.pieces, NO_PIECE);
+        for (int i = 0; i < BitBoard.PIECE_BITBOARDS; i++) {
+            long bitboard = board.getBitboard(i);
+            while (bitboard != 0) {
+                putPiece(i, BitBoard.firstCoordinate(bitboard));
+                bitboard &= bitboard - 1;
+            }
+        }
+        long unmovedPieces = board.getUnmoved() & board.getOccupancy();
+        while (unmovedPieces != 0) {
+            setUnmoved(BitBoard.firstCoordinate(unmovedPieces));
+            unmovedPieces &= unmovedPieces - 1;
+        }
+        this.turn = board.getTurn().getColor();
+        if (this.turn == Color.White)
+            this.key ^= Zobrist.whiteMove;
+        this.hasCastled[0] = board.getWhitePlayer().isHasCastled();
+        this.hasCastled[1] = board.getBlackPlayer().isHasCastled();
+        this.movesWithoutEat = board.getMovesWithoutEat();
+        // the keys of the boards before the moves without eat, oldest first
+        GameHistory gameHistory = board.getHistory();
+        for (int i = rootHistorySize; i > 0; i--)
+            this.history[historySize++] = gameHistory.getKey(board.getPly() - i);
+    }
+
+    /**
+     * create a copy of a position in its current state, the copy starts from ply 0 and can be searched
+     * by another thread. the moves that were made on the position since its root count as moves of the search
+     * @param position the position to copy
+     */
+    public Position(Position position) {
+        this(position.getLastMove(), position.historySize, position.rootHistorySize);
+        System.arraycopy(position.bitboards, 0, this.bitboards, 0, this.bitboards.length);
+        System.arraycopy(position.occupancy, 0, this.occupancy, 0, this.occupancy.length);
+        System.arraycopy(position.pieces, 0, this.pieces, 0, this.pieces.length);
+        System.arraycopy(position.hasCastled, 0, this.hasCastled, 0, this.hasCastled.length);
+        this.turn = position.turn;
+        this.unmoved = position.unmoved;
+        this.movesWithoutEat = position.movesWithoutEat;
+        this.key = position.key;
+        System.arraycopy(position.history, 0, this.history, 0, position.historySize);
+        this.historySize = position.historySize;
+    }
+
+    /**
+     * find the number of boards before a board that can repeat, the boards since the last irreversible move
+     * that the game history keeps
+     * @param board the board
+     * @return the number of the boards that can repeat
+     */
+    private static int reversibleMoves(Board board) {
+        return Math.min(board.getMovesWithoutEat(), board.getHistory().reversibleMoves(board.getPly()));
+    }
+
+    // getter
+    public Color getTurn() {
+        return turn;
+    }
+
+    // getter
+    public Color getOpponent() {
+        return turn == Color.White ? Color.Black : Color.White;
+    }
+
+    /**
+     * get the zobrist key of the position, it is kept updated by the moves
+     * @return the key of the position
+     * @see Zobrist#getKeyForPosition(Position)
+     */
+    public long getKey() {
+        return key;
+    }
+
+    // getter
+    public int getMovesWithoutEat() {
+        return movesWithoutEat;
+    }
+
+    // getter
+    public long getBitboard(int pieceIndex) {
+        return bitboards[pieceIndex];
+    }
+
+    // getter
+    public long getOccupancy(Color color) {
+        return occupancy[BitBoard.colorIndex(color)];
+    }
+
+    // getter
+    public long getOccupancy() {
+        return occupancy[0] | occupancy[1];
+    }
+
+    // getter
+    public boolean isHasCastled(Color color) {
+        return hasCastled[BitBoard.colorIndex(color)];
+    }
+
+    /**
+     * look for the piece on a given coordinate
+     * @param coordinate the coordinate we look in
+     * @return the bitboard index of the piece, or NO_PIECE if no piece there(or not a valid coordinate)
+     * @see BitBoard
+     */
+    public int getPieceAt(int coordinate) {
+        if (coordinate < 0 || coordinate >= Board.size)
+            return NO_PIECE;
+        return pieces[coordinate];
+    }
+
+    /**
+     * check if the piece on a coordinate didn't move yet
+     * @param coordinate the coordinate of the piece
+     * @return true if the piece on the coordinate is on his first move, false otherwise
+     */
+    public boolean isFirstMove(int coordinate) {
+        return BitBoard.isSet(unmoved, coordinate);
+    }
+
+    /**
+     * find the king coordinate of a given color
+     * @param color the color of the king
+     * @return the coordinate of the king
+     */
+    public int getKingCoordinate(Color color) {
+        return BitBoard.firstCoordinate(bitboards[BitBoard.pieceIndex(BitBoard.KING, color)]);
+    }
+
+    /**
+     * get the last move that was made, in the search or in the game before it
+     * @return the last encoded move, NO_MOVE if there is no such move
+     */
+    public int getLastMove() {
+        return ply > 0 ? undoMove[ply - 1] : rootTransitionMove;
+    }
+
+    /**
+     * get the number of moves that were made on the position and were not unmade
+     * @return the ply of the position
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    /**
+     * get a move that was made on the position
+     * @param ply the number of moves that were made before the move, smaller than the ply of the position
+     * @return the encoded move
+     */
+    public int getMove(int ply) {
+        return undoMove[ply];
+    }
+
+    /**
+     * check if a coordinate is attacked by any piece of the given color
+     * @param coordinate the coordinate to check
+     * @param attacker the color of the attacking pieces
+     * @return true if the coordinate is attacked, false otherwise
+     */
+    public boolean isSquareAttacked(int coordinate, Color attacker) {
+        return Attacks.isSquareAttacked(bitboards, getOccupancy(), coordinate, attacker);
+    }
+
+    /**
+     * check if the king of a given color is attacked
+     * @param color the color of the king
+     * @return true if the king is in check, false otherwise
+     */
+    public boolean isInCheck(Color color) {
+        return isSquareAttacked(getKingCoordinate(color), opposite(color));
+    }
+
+    // is the player who it's his turn in check
+    public boolean isInCheck() {
+        return isInCheck(turn);
+    }
+
+    /**
+     * find all the possible moves of a color, like the legal moves of a player(the moves can leave the king in check)
+     * @param color the color of the pieces to move
+     * @return list of the encoded moves
+     */
+    public MoveList generateMoves(Color color) {
+        return generateMoves(color, new MoveList());
+    }
+
+    /**
+     * find all the possible moves of a color into a given list, like the legal moves of a player(the moves can leave
+     * the king in check)
+     * @param color the color of the pieces to move
+     * @param moves the list to fill, it is cleared first
+     * @return the given list
+     */
+    public MoveList generateMoves(Color color, MoveList moves) {
+        moves.clear();
+        generatePieceMoves(color, moves, BitBoard.FULL, BitBoard.FULL, BitBoard.FULL);
+        generateCastles(color, moves, getOccupancy());
+        return moves;
+    }
+
+    /**
+     * find the possible attack and pawn promotion moves of the player who it's his turn
+     * @param moves the list to fill, it is cleared first
+     * @return the given list
+     */
+    public MoveList generateCaptures(MoveList moves) {
+        moves.clear();
+        long enemy = getOccupancy(opposite(turn));
+        generatePieceMoves(turn, moves, enemy, enemy, PROMOTION_ROWS);
+        return moves;
+    }
+
+    /**
+     * find the possible moves of the player who it's his turn that are not attacks or pawn promotions,
+     * with the castles
+     * @param moves the list to fill, it is cleared first
+     * @return the given list
+     */
+    public MoveList generateQuiets(MoveList moves) {
+        moves.clear();
+        long empty = ~getOccupancy();
+        generatePieceMoves(turn, moves, empty, empty, ~PROMOTION_ROWS);
+        generateCastles(turn, moves, getOccupancy());
+        return moves;
+    }
+
+    /**
+     * check if an encoded move is one of the possible moves of the player who it's his turn,
+     * used for moves that were found on other positions(like moves from the transposition table)
+     * @param move the encoded move
+     * @return true if generateMoves would list the move, false otherwise
+     */
+    public boolean isPseudoLegal(int move) {
+        int from = MoveEncoding.getFrom(move);
+        int to = MoveEncoding.getTo(move);
+        int piece = pieces[from];
+        if (move == MoveEncoding.NO_MOVE || piece == NO_PIECE || BitBoard.colorOf(piece) != turn)
+            return false;
+        MoveList moves = pieceMoves;
+        moves.clear();
+        if (MoveEncoding.isCastle(move))
+            generateCastles(turn, moves, getOccupancy());
+        else
+            generatePieceMoves(turn, moves, BitBoard.FULL, BitBoard.FULL, BitBoard.FULL, BitBoard.squareMask(from));
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * find the possible moves of the player who it's his turn when he is in check: king moves, captures of
+     * the checking piece and blocks between him and the king(on a double check only king moves)
+     * the moves are a part of the possible moves in the same order, so the legal moves are the same as
+     * the legal moves of generateMoves
+     * @param moves the list to fill, it is cleared first
+     * @return the given list
+     */
+    public MoveList generateEvasions(MoveList moves) {
+        moves.clear();
+        long targets = evasionTargets();
+        generatePieceMoves(turn, moves, targets, BitBoard.FULL, targets);
+        return moves;
+    }
+
+    /**
+     * find the coordinates the pieces except the king can move to when the player who it's his turn is in check
+     * @return the checking piece and the coordinates between it and the king, none on a double check
+     */
+    private long evasionTargets() {
+        int king = getKingCoordinate(turn);
+        long checkers = Attacks.attackersOf(bitboards, getOccupancy(), king, opposite(turn));
+        // a single checking piece can be captured or blocked
+        if (Long.bitCount(checkers) == 1)
+            return checkers | Attacks.between(king, BitBoard.firstCoordinate(checkers));
+        return BitBoard.EMPTY;
+    }
+
+    /**
+     * find the moves of the player who it's his turn that the search needs: the evasions when he is in check,
+     * all the possible moves otherwise
+     * @param moves the list to fill, it is cleared first
+     * @return the given list
+     */
+    public MoveList generateSearchMoves(MoveList moves) {
+        return isInCheck() ? generateEvasions(moves) : generateMoves(turn, moves);
+    }
+
+    // find all the possible moves of the player who it's his turn
+    public MoveList generateMoves() {
+        return generateMoves(turn);
+    }
+
+    /**
+     * get a reusable move list of the current ply, the list is reused by every node of the search on this ply
+     * @param slot the use of the list(SEARCH_MOVES, WHITE_MOVES or BLACK_MOVES)
+     * @return the move list
+     */
+    public MoveList getMoveBuffer(int slot) {
+        int index = ply * MOVE_BUFFERS_PER_PLY + slot;
+        if (moveBuffers[index] == null)
+            moveBuffers[index] = new MoveList();
+        return moveBuffers[index];
+    }
+
+    /**
+     * check if a possible move of the player who it's his turn leaves his king safe, by the pins and the checks
+     * of the position, without making the move
+     * @param move the encoded move
+     * @return true if the move is legal, false otherwise
+     * @see Attacks#isLegal(long[], long, Color, int, int, long, long)
+     */
+    public boolean isLegal(int move) {
+        if (!isLegalityCalculated[ply]) {
+            long all = getOccupancy();
+            pinned[ply] = Attacks.pinnedPieces(bitboards, all, turn);
+            checkers[ply] = Attacks.attackersOf(bitboards, all, getKingCoordinate(turn), opposite(turn));
+            isLegalityCalculated[ply] = true;
+        }
+        return Attacks.isLegal(bitboards, getOccupancy(), turn, MoveEncoding.getFrom(move), MoveEncoding.getTo(move),
+                pinned[ply], checkers[ply]);
+    }
+
+    /**
+     * make a move on the position, if the move leaves the king of the player in check it is not made
+     * @param move the encoded move to make
+     * @return true if the move was made, false if it is illegal
+     */
+    public boolean makeMove(int move) {
+        if (!isLegal(move))
+            return false;
+        Color color = turn;
+        int from = MoveEncoding.getFrom(move);
+        int to = MoveEncoding.getTo(move);
+        int kind = MoveEncoding.getKind(move);
+        int piece = pieces[from];
+        // push the undo information
+        undoMove[ply] = move;
+        undoCaptured[ply] = pieces[to];
+        undoMovesWithoutEat[ply] = movesWithoutEat;
+        undoUnmoved[ply] = unmoved;
+        undoKey[ply] = key;
+        ply++;
+        isLegalityCalculated[ply] = false;
+        isHasLegalMoveCalculated[ply] = false;
+        results[ply] = null;
+        history[historySize++] = key;
+
+        clearUnmoved(BitBoard.squareMask(from) | BitBoard.squareMask(to));
+        if (pieces[to] != NO_PIECE)
+            removePiece(to);
+        removePiece(from);
+        // pawn promotion
+        if (MoveEncoding.isPawnPromotion(move))
+            putPiece(BitBoard.pieceIndex(MoveEncoding.getPromotion(move), color), to);
+        else
+            putPiece(piece, to);
+        if (kind == MoveEncoding.KING_SIDE_CASTLE || kind == MoveEncoding.QUEEN_SIDE_CASTLE) {
+            int[] castle = castleOf(kind, color);
+            clearUnmoved(BitBoard.squareMask(castle[2]));
+            removePiece(castle[2]);
+            putPiece(BitBoard.pieceIndex(BitBoard.ROOK, color), castle[3]);
+            hasCastled[BitBoard.colorIndex(color)] = true;
+        }
+        // attack and pawn moves initialize the moves without eat
+        if (kind == MoveEncoding.MAJOR_MOVE || MoveEncoding.isCastle(move))
+            movesWithoutEat++;
+        else
+            movesWithoutEat = 0;
+        turn = opposite(color);
+        key ^= Zobrist.whiteMove;
+        assert key == Zobrist.getKeyForPosition(this) : "the key is not updated";
+        return true;
+    }
+
+    /**
+     * unmake the last move that was made on the position
+     */
+    public void unmakeMove() {
+        ply--;
+        historySize--;
+        int move = undoMove[ply];
+        int from = MoveEncoding.getFrom(move);
+        int to = MoveEncoding.getTo(move);
+        int kind = MoveEncoding.getKind(move);
+        Color color = opposite(turn);
+        int piece = MoveEncoding.isPawnPromotion(move) ? BitBoard.pieceIndex(BitBoard.PAWN, color) : pieces[to];
+        if (kind == MoveEncoding.KING_SIDE_CASTLE || kind == MoveEncoding.QUEEN_SIDE_CASTLE) {
+            int[] castle = castleOf(kind, color);
+            removePiece(castle[3]);
+            putPiece(BitBoard.pieceIndex(BitBoard.ROOK, color), castle[2]);
+            hasCastled[BitBoard.colorIndex(color)] = false;
+        }
+        removePiece(to);
+        putPiece(piece, from);
+        if (undoCaptured[ply] != NO_PIECE)
+            putPiece(undoCaptured[ply], to);
+        unmoved = undoUnmoved[ply];
+        movesWithoutEat = undoMovesWithoutEat[ply];
+        // the pieces changed the key, but the castling rights and the turn did too
+        key = undoKey[ply];
+        turn = color;
+    }
+
+    /**
+     * check if the player who it's his turn has a legal move, the answer is calculated once for the position
+     * @return true if the player has legal moves, false otherwise
+     */
+    public boolean hasLegalMove() {
+        if (!isHasLegalMoveCalculated[ply]) {
+            hasLegalMoves[ply] = findLegalMove();
+            isHasLegalMoveCalculated[ply] = true;
+        }
+        return hasLegalMoves[ply];
+    }
+
+    /**
+     * look for a legal move of the player who it's his turn, piece by piece from the king,
+     * and stop on the first one without making it
+     * @return true if a legal move was found, false otherwise
+     */
+    private boolean findLegalMove() {
+        MoveList moves = getMoveBuffer(LEGALITY_MOVES);
+        long targets = isInCheck() ? evasionTargets() : BitBoard.FULL;
+        long king = bitboards[BitBoard.pieceIndex(BitBoard.KING, turn)];
+        // the castles are not needed, a legal castle means the king can also make one step to the rook
+        if (hasLegalMove(moves, targets, king))
+            return true;
+        for (long remaining = getOccupancy(turn) & ~king; remaining != 0; remaining &= remaining - 1) {
+            if (hasLegalMove(moves, targets, remaining & -remaining))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * check if some pieces of the player who it's his turn have a legal move
+     * @param moves the list to generate the moves into
+     * @param targets the coordinates the pieces except the king can move to
+     * @param movedPieces the coordinates of the pieces
+     * @return true if one of the moves is legal, false otherwise
+     */
+    private boolean hasLegalMove(MoveList moves, long targets, long movedPieces) {
+        moves.clear();
+        generatePieceMoves(turn, moves, targets, BitBoard.FULL, targets, movedPieces);
+        for (int i = 0; i < moves.size(); i++) {
+            if (isLegal(moves.get(i)))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * check if the player who it's his turn is in checkmate
+     * @return true if in check mate, false otherwise
+     */
+    public boolean isInCheckMate() {
+        return isInCheck() && !hasLegalMove();
+    }
+
+    /**
+     * check if the player who it's his turn is in stalemate
+     * @return true if in stalemate, false otherwise
+     */
+    public boolean isInStaleMate() {
+        return !isInCheck() && !hasLegalMove();
+    }
+
+    /**
+     * check if the game has been finished in this position, and in what score if does
+     * @return the Result of the game, NOT_FINISHED if the game still going
+     * @see Board#gameResult()
+     */
+    public Result gameResult() {
+        if (results[ply] == null)
+            results[ply] = calculateGameResult();
+        return results[ply];
+    }
+
+    /**
+     * check if the game has been finished in this position, without the saved result
+     * @return the Result of the game, NOT_FINISHED if the game still going
+     */
+    private Result calculateGameResult() {
+        if (isInCheckMate())
+            return turn == Color.White ? Result.BLACK : Result.WHITE;
+        if (isInStaleMate() || movesWithoutEat == 50 || notEnoughMaterial() || isThreeTimesPosition())
+            return Result.DRAW;
+        return Result.NOT_FINISHED;
+    }
+
+    /**
+     * check if both of the players has not enough material to win(draw case)
+     * @return true if both can't win
+     */
+    private boolean notEnoughMaterial() {
+        return isNotEnoughMaterialToWin(Color.White) && isNotEnoughMaterialToWin(Color.Black);
+    }
+
+    /**
+     * check if the pieces of a color are enough to win
+     * @param color the color of the player
+     * @return true if the player has not enough material to win, else if does
+     */
+    private boolean isNotEnoughMaterialToWin(Color color) {
+        int offset = BitBoard.pieceIndex(BitBoard.PAWN, color);
+        if (bitboards[offset + BitBoard.PAWN] != 0)
+            return false;
+        double material = 0;
+        for (int kind = BitBoard.KNIGHT; kind < BitBoard.KING; kind++)
+            material += Long.bitCount(bitboards[offset + kind]) * PIECE_VALUES[kind];
+        return material <= 3;
+    }
+
+    /**
+     * check if we go back at the same position 3 times in the last moves without eat
+     * @return true if the same position returned 3 times-false otherwise
+     * @see Board
+     */
+    private boolean isThreeTimesPosition() {
+        int samePositionCounter = 0;
+        // the positions before the last attack or pawn move can't come back
+        int first = Math.max(0, historySize - movesWithoutEat);
+        // the positions with the same turn are an even number of moves back
+        for (int i = historySize - 2; i >= first; i -= 2) {
+            if (history[i] == key)
+                samePositionCounter++;
+        }
+        return samePositionCounter >= 3;
+    }
+
+    /**
+     * check if the position already came up in the moves that the search made since the root position,
+     * the search can count it as a draw because the same moves can repeat it again
+     * @return true if the position is repeated in the search, false otherwise
+     */
+    public boolean isRepeatedInSearch() {
+        int first = Math.max(rootHistorySize, historySize - movesWithoutEat);
+        for (int i = historySize - 2; i >= first; i -= 2) {
+            if (history[i] == key)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * add the moves of the pieces of a color to the list(without the castles)
+     * @param color the color of the pieces
+     * @param moves the list to add to
+     * @param targets the coordinates the pieces except the king can move to(and the pawns can attack)
+     * @param kingTargets the coordinates the king can move to
+     * @param pushTargets the coordinates the pawns can move forward to
+     */
+    private void generatePieceMoves(Color color, MoveList moves, long targets, long kingTargets, long pushTargets) {
+        generatePieceMoves(color, moves, targets, kingTargets, pushTargets, BitBoard.FULL);
+    }
+
+    /**
+     * add the moves of some pieces of a color to the list(without the castles)
+     * @param color the color of the pieces
+     * @param moves the list to add to
+     * @param targets the coordinates the pieces except the king can move to(and the pawns can attack)
+     * @param kingTargets the coordinates the king can move to
+     * @param pushTargets the coordinates the pawns can move forward to
+     * @param movedPieces the coordinates of the pieces to move
+     */
+    private void generatePieceMoves(Color color, MoveList moves, long targets, long kingTargets, long pushTargets,
+                                    long movedPieces) {
+        long own = getOccupancy(color);
+        long enemy = getOccupancy(opposite(color));
+        long all = own | enemy;
+        long pieceTargets = targets & ~own;
+        // go over the pieces by their coordinates, like the active pieces of the board
+        for (long remaining = own & movedPieces; remaining != 0; remaining &= remaining - 1) {
+            int from = BitBoard.firstCoordinate(remaining);
+            switch (BitBoard.kindOf(pieces[from])) {
+                case BitBoard.PAWN -> generatePawnMoves(color, from, moves, enemy & targets, all, pushTargets);
+                case BitBoard.KNIGHT -> addMoves(moves, from, Attacks.knightAttacks(from) & pieceTargets, enemy);
+                case BitBoard.BISHOP -> addMoves(moves, from, Attacks.bishopAttacks(from, all) & pieceTargets, enemy);
+                case BitBoard.ROOK -> addMoves(moves, from, Attacks.rookAttacks(from, all) & pieceTargets, enemy);
+                case BitBoard.QUEEN -> addMoves(moves, from, Attacks.queenAttacks(from, all) & pieceTargets, enemy);
+                case BitBoard.KING -> addMoves(moves, from, Attacks.kingAttacks(from) & kingTargets & ~own, enemy);
+            }
+        }
+    }
+
+    /**
+     * add the moves of a pawn to the list
+     * @param color the color of the pawn
+     * @param from the coordinate of the pawn
+     * @param moves the list to add to
+     * @param enemy the enemy pieces the pawn can attack
+     * @param all all the pieces on the board
+     * @param pushTargets the coordinates the pawn can move forward to
+     */
+    private void generatePawnMoves(Color color, int from, MoveList moves, long enemy, long all, long pushTargets) {
+        long pushes = Attacks.pawnPushes(color, from) & ~all;
+        if (pushes != BitBoard.EMPTY) {
+            int to = BitBoard.firstCoordinate(pushes);
+            if (BitBoard.isSet(pushTargets, to))
+                moves.add(MoveEncoding.create(from, to, MoveEncoding.PAWN_MOVE, BitBoard.PAWN, promotionOf(to)));
+            // two rows on the first move
+            long doublePushes = Attacks.pawnPushes(color, to) & ~all & pushTargets;
+            if (isFirstMove(from) && doublePushes != BitBoard.EMPTY)
+                moves.add(MoveEncoding.create(from, BitBoard.firstCoordinate(doublePushes), MoveEncoding.PAWN_MOVE));
+        }
+        long attacks = Attacks.pawnAttacks(color, from) & enemy;
+        while (attacks != 0) {
+            int to = BitBoard.firstCoordinate(attacks);
+            moves.add(MoveEncoding.create(from, to, MoveEncoding.PAWN_ATTACK_MOVE, BitBoard.kindOf(pieces[to]), promotionOf(to)));
+            attacks &= attacks - 1;
+        }
+    }
+
+    /**
+     * get the piece kind a pawn that moves to a coordinate is promoted to
+     * @param to the coordinate the pawn moves to
+     * @return queen on the last rows(the pawns are always promoted to queens), pawn otherwise
+     */
+    private static int promotionOf(int to) {
+        return to <= 7 || to >= 56 ? BitBoard.QUEEN : BitBoard.PAWN;
+    }
+
+    /**
+     * add the castle moves of a color to the list
+     * @param color the color of the player
+     * @param moves the list to add to
+     * @param all all the pieces on the board
+     */
+    private void generateCastles(Color color, MoveList moves, long all) {
+        int colorIndex = BitBoard.colorIndex(color);
+        int kingStart = KING_SIDE_CASTLE[colorIndex][0];
+        int rook = BitBoard.pieceIndex(BitBoard.ROOK, color);
+        Color enemy = opposite(color);
+        if (pieces[kingStart] != BitBoard.pieceIndex(BitBoard.KING, color) || !isFirstMove(kingStart)
+                || isSquareAttacked(kingStart, enemy))
+            return;
+        int[] kingSide = KING_SIDE_CASTLE[colorIndex];
+        // if not occupied, the rook on his first move and the tiles are not under attack
+        if (!BitBoard.isSet(all, kingSide[3]) && !BitBoard.isSet(all, kingSide[1])
+                && pieces[kingSide[2]] == rook && isFirstMove(kingSide[2])
+                && !isSquareAttacked(kingSide[3], enemy) && !isSquareAttacked(kingSide[1], enemy))
+            moves.add(MoveEncoding.create(kingStart, kingSide[1], MoveEncoding.KING_SIDE_CASTLE));
+        int[] queenSide = QUEEN_SIDE_CASTLE[colorIndex];
+        // same for queen castle
+        if (!BitBoard.isSet(all, queenSide[3]) && !BitBoard.isSet(all, queenSide[1]) && !BitBoard.isSet(all, queenSide[2] + 1)
+                && pieces[queenSide[2]] == rook && isFirstMove(queenSide[2])
+                && !isSquareAttacked(queenSide[3], enemy) && !isSquareAttacked(queenSide[1], enemy))
+            moves.add(MoveEncoding.create(kingStart, queenSide[1], MoveEncoding.QUEEN_SIDE_CASTLE));
+    }
+
+    /**
+     * add a move for every target coordinate of a piece
+     * @param moves the list to add to
+     * @param from the coordinate of the piece
+     * @param targets the bitboard of the coordinates the piece moves to
+     * @param enemy the enemy pieces
+     */
+    private void addMoves(MoveList moves, int from, long targets, long enemy) {
+        while (targets != 0) {
+            int to = BitBoard.firstCoordinate(targets);
+            if (BitBoard.isSet(enemy, to))
+                moves.add(MoveEncoding.create(from, to, MoveEncoding.ATTACK_MOVE, BitBoard.kindOf(pieces[to]), BitBoard.PAWN));
+            else
+                moves.add(MoveEncoding.create(from, to, MoveEncoding.MAJOR_MOVE));
+            targets &= targets - 1;
+        }
+    }
+
+    /**
+     * put a piece on the position
+     * @param piece the bitboard index of the piece
+     * @param coordinate the coordinate to put on
+     */
+    private void putPiece(int piece, int coordinate) {
+        long mask = BitBoard.squareMask(coordinate);
+        bitboards[piece] |= mask;
+        occupancy[piece < BitBoard.PIECE_KINDS ? 0 : 1] |= mask;
+        pieces[coordinate] = piece;
+        key ^= Zobrist.pieceKey(piece, coordinate);
+    }
+
+    /**
+     * remove the piece on a coordinate from the position
+     * @param coordinate the coordinate of the piece
+     */
+    private void removePiece(int coordinate) {
+        int piece = pieces[coordinate];
+        long mask = ~BitBoard.squareMask(coordinate);
+        bitboards[piece] &= mask;
+        occupancy[piece < BitBoard.PIECE_KINDS ? 0 : 1] &= mask;
+        pieces[coordinate] = NO_PIECE;
+        key ^= Zobrist.pieceKey(piece, coordinate);
+    }
+
+    /**
+     * mark the piece on a coordinate as a piece that didn't move yet
+     * @param coordinate the coordinate of the piece
+     */
+    private void setUnmoved(int coordinate) {
+        unmoved |= BitBoard.squareMask(coordinate);
+        key ^= Zobrist.castlingKey(pieces[coordinate], coordinate);
+    }
+
+    /**
+     * mark the pieces on some coordinates as moved, must be called before the pieces leave the coordinates
+     * @param coordinates the coordinates of the pieces
+     */
+    private void clearUnmoved(long coordinates) {
+        // only the kings and the rooks that didn't move change the key
+        for (long changed = unmoved & coordinates; changed != 0; changed &= changed - 1) {
+            int coordinate = BitBoard.firstCoordinate(changed);
+            key ^= Zobrist.castlingKey(pieces[coordinate], coordinate);
+        }
+        unmoved &= ~coordinates;
+    }
+
+    /**
+     * get the coordinates of a castle
+     * @param kind the kind of the castle move
+     * @param color the color of the castling player
+     * @return king from, king to, rook from and rook to coordinates
+     */
+    private static int[] castleOf(int kind, Color color) {
+        return kind == MoveEncoding.KING_SIDE_CASTLE ? KING_SIDE_CASTLE[BitBoard.colorIndex(color)]
+                : QUEEN_SIDE_CASTLE[BitBoard.colorIndex(color)];
+    }
+
+    /**
+     * get the other color
+     * @param color the color
+     * @return the opposite color
+     */
+    public static Color opposite(Color color) {
+        return color == Color.White ? Color.Black : Color.White;
+    }
+}
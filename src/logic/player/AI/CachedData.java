@@ -1,9 +1,15 @@
 package logic.player.AI;
 
 import logic.Color;
+import logic.MoveEncoding;
 
 import static logic.Color.White;
 
+/**
+ * this class represent an entry of the transposition table, the search reuses one object for every distance from
+ * the root and the table puts the entries it finds in it
+ * @see TranspositionTable
+ */
 public class CachedData {
 
     public enum Type
@@ -14,13 +20,26 @@ public class CachedData {
     private double score;
     private Color turnColor;
     private Type type;
+    // the best encoded move that was found in the position, or NO_MOVE
+    private int bestMove;
+
+    public CachedData()
+    {
+        this(0, 0, Type.EXACT_VALUE);
+    }
 
     public CachedData(int depth, double score, Type type)
+    {
+        this(depth, score, type, MoveEncoding.NO_MOVE);
+    }
+
+    public CachedData(int depth, double score, Type type, int bestMove)
     {
         this.depth = depth;
         this.score = score;
         this.turnColor = White;
         this.type = type;
+        this.bestMove = bestMove;
     }
 
     public int getDepth() {
@@ -39,6 +58,14 @@ public class CachedData {
         this.type = type;
     }
 
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    public void setBestMove(int bestMove) {
+        this.bestMove = bestMove;
+    }
+
     public Color getTurnColor() {
         return turnColor;
     }
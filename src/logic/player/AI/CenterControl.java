@@ -1,11 +1,10 @@
 package logic.player.AI;
 
-import logic.Board;
+import logic.BitBoard;
 import logic.Color;
-import logic.Move;
-import logic.player.Player;
-
-import java.util.List;
+import logic.MoveEncoding;
+import logic.MoveList;
+import logic.Position;
 
 /**
  * this class contains static methods for evaluating a Center control of a player
@@ -17,28 +16,27 @@ public class CenterControl {
     private static final int[] CENTER_COORDINATE = {27, 28, 35, 36};
 
 
-    public static double centerControl(Player player, Board board)
+    public static double centerControl(Position position, Color color, MoveList moves)
     {
-        List<Move> allPlayersLegalMoves = player.getLegalMoves();
         //System.out.println("\n center: " + "\n Enemycenter:" + calculateAttacksOnEnemyCenter(player, allPlayersLegalMoves) +
                // "\nself center: " + calculateAttacksOnSelfCenter(player, allPlayersLegalMoves) + "\n pawns on center: " +
                // pawnsOnCenter(player, board));
-        return calculateAttacksOnEnemyCenter(player, allPlayersLegalMoves) +
-                calculateAttacksOnSelfCenter(player, allPlayersLegalMoves) +
-                pawnsOnCenter(player, board);
+        return calculateAttacksOnEnemyCenter(color, moves) +
+                calculateAttacksOnSelfCenter(color, moves) +
+                pawnsOnCenter(position, color);
     }
 
     /**
      * this function calculate the pawns on the center evaluation
-     * @param player the player we calculate his pawns on the center evaluation
-     * @param board the current board
+     * @param position the current position
+     * @param color the color of the player we calculate his pawns on the center evaluation
      * @return the evaluation of the pawns in the center for the player
      */
-    private static double pawnsOnCenter(Player player, Board board) {
+    private static double pawnsOnCenter(Position position, Color color) {
         int numberOfPawnsOnCenter = 0;
         for(int i : CENTER_COORDINATE)
         {
-            if(board.getPieceAtCoordinate(i) != null && board.getPieceAtCoordinate(i).getColor() == player.getColor())
+            if(BitBoard.isSet(position.getOccupancy(color), i))
                 numberOfPawnsOnCenter++;
         }
         return numberOfPawnsOnCenter * PAWNS_ON_CENTER_MULTIPLIER;
@@ -46,45 +44,59 @@ public class CenterControl {
 
     /**
      * this function calculate the attacks on the enemy center evaluation
-     * @param player the player we calculate his attacks on the enemy center on the center evaluation
-     * @param allPlayersLegalMoves all the player's legal moves
+     * @param color the color of the player we calculate his attacks on the enemy center on the center evaluation
+     * @param moves all the player's moves
      * @return the evaluation of the attacks on enemy center the player
      */
-    public static double calculateAttacksOnEnemyCenter(Player player, List<Move> allPlayersLegalMoves)
+    public static double calculateAttacksOnEnemyCenter(Color color, MoveList moves)
     {
         double attacksOnBoxVal = 0;
-        if(player.getColor() == Color.White) {
+        if(color == Color.White) {
             // calculate attacks on the white enemy center
-            attacksOnBoxVal = Player.getAttacksOnBox(27, allPlayersLegalMoves).size() + Player.getAttacksOnBox(28, allPlayersLegalMoves).size();
+            attacksOnBoxVal = movesTo(27, moves) + movesTo(28, moves);
 
         }
-        else if(player.getColor() == Color.Black) {
+        else if(color == Color.Black) {
             // calculate attacks on the black enemy center
-            attacksOnBoxVal = Player.getAttacksOnBox(35, allPlayersLegalMoves).size() + Player.getAttacksOnBox(36, allPlayersLegalMoves).size();
+            attacksOnBoxVal = movesTo(35, moves) + movesTo(36, moves);
         }
         return attacksOnBoxVal * ATTACKS_ON_ENEMY_CENTER_MULTIPLIER;
     }
 
     /**
      * this function calculate the attacks on the self center evaluation
-     * @param player the player we calculate his attacks on the self center on the center evaluation
-     * @param allPlayersLegalMoves all the player's legal moves
+     * @param color the color of the player we calculate his attacks on the self center on the center evaluation
+     * @param moves all the player's moves
      * @return the evaluation of the attacks on self center the player
      */
-    public static double calculateAttacksOnSelfCenter(Player player, List<Move> allPlayersLegalMoves)
+    public static double calculateAttacksOnSelfCenter(Color color, MoveList moves)
     {
         double attacksOnBoxVal = 0;
-        if(player.getColor() == Color.White) {
+        if(color == Color.White) {
             // calculate attacks on the white self center
-            attacksOnBoxVal = Player.getAttacksOnBox(35, allPlayersLegalMoves).size() + Player.getAttacksOnBox(36, allPlayersLegalMoves).size();
+            attacksOnBoxVal = movesTo(35, moves) + movesTo(36, moves);
 
         }
-        else if(player.getColor() == Color.Black) {
+        else if(color == Color.Black) {
             // calculate attacks on the black self center
-            attacksOnBoxVal = Player.getAttacksOnBox(27, allPlayersLegalMoves).size() + Player.getAttacksOnBox(28, allPlayersLegalMoves).size();
+            attacksOnBoxVal = movesTo(27, moves) + movesTo(28, moves);
         }
         return attacksOnBoxVal * ATTACKS_ON_SELF_CENTER_MULTIPLIER;
     }
 
-
+    /**
+     * count the moves to a given box
+     * @param boxPos the coordinate of the box
+     * @param moves list of moves to check
+     * @return the number of moves to the box
+     */
+    private static int movesTo(int boxPos, MoveList moves) {
+        int counter = 0;
+        for(int i = 0; i < moves.size(); i++)
+        {
+            if(MoveEncoding.getTo(moves.get(i)) == boxPos)
+                counter++;
+        }
+        return counter;
+    }
 }
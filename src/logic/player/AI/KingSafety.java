@@ -1,16 +1,10 @@
 package logic.player.AI;
 
-import logic.Board;
+import logic.BitBoard;
 import logic.Color;
-import logic.Move;
-import logic.Pieces.King;
-import logic.Pieces.Pawn;
-import logic.Pieces.Piece;
-import logic.player.Player;
-
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.List;
+import logic.MoveEncoding;
+import logic.MoveList;
+import logic.Position;
 
 /**
  * this class contains static methods for evaluating a King safety of a player
@@ -24,44 +18,48 @@ public class KingSafety {
 
     /**
      * evaluate the board according to king safety
-     * @param player the player we evaluate for
-     * @param board the current board
+     * @param position the current position
+     * @param color the color of the player we evaluate for
+     * @param enemyMoves the moves of the player's rival
      * @return the value of the player's king safety if the current board
      */
-    public static double calculateKingSafety(Player player, Board board, GameStage gameStage)
+    public static double calculateKingSafety(Position position, Color color, MoveList enemyMoves, GameStage gameStage)
     {
         // if start or mid-Castle relevant
         if(gameStage == GameStage.OPENING || gameStage == GameStage.MIDGAME)
-            return calculateCastleValue(player, board) + calculateKingTropism(player);
+            return calculateCastleValue(position, color) + calculateKingTropism(position, color, enemyMoves);
         // if ending-castle irrelevant
-        else return calculateKingTropism(player);
+        else return calculateKingTropism(position, color, enemyMoves);
     }
 
     /**
      * this function calculate the king tropism for the player
-     * @param player the player we calculate his king tropism
+     * @param position the current position
+     * @param color the color of the player we calculate his king tropism
+     * @param enemyMoves the moves of the player's rival
      * @return the king tropism evaluation
      */
-    public static double calculateKingTropism(final Player player) {
-        final int playerKingSquare = player.getKing().getPosition();
-        final List<Move> enemyMoves = player.getRival().getLegalMoves();
+    public static double calculateKingTropism(final Position position, final Color color, final MoveList enemyMoves) {
+        final int playerKingSquare = position.getKingCoordinate(color);
         // the closest distance move
         int currentDistance;
         // the closest piece
-        Piece closestPiece = null;
+        int closestPiece = Position.NO_PIECE;
         int closestDistance = Integer.MAX_VALUE;
-        for(final Move move : enemyMoves) {
+        for(int i = 0; i < enemyMoves.size(); i++) {
+            final int move = enemyMoves.get(i);
+            final int movedPiece = position.getPieceAt(MoveEncoding.getFrom(move));
             // calculate the distance between the move to the king
-            currentDistance = calculateChebyshevDistance(playerKingSquare, move.getCoordinateMovedTo());
-            if(move.getPieceMoved().getClass() != King.class && currentDistance < closestDistance) {
+            currentDistance = calculateChebyshevDistance(playerKingSquare, MoveEncoding.getTo(move));
+            if(BitBoard.kindOf(movedPiece) != BitBoard.KING && currentDistance < closestDistance) {
                 closestDistance = currentDistance;
-                closestPiece = move.getPieceMoved();
+                closestPiece = movedPiece;
             }
         }
-        if(closestPiece != null) {
+        if(closestPiece != Position.NO_PIECE) {
             if (closestDistance == 0)
                 closestDistance = 1;
-            return -1 * (closestPiece.value / 200 * (10 - closestDistance));
+            return -1 * (Position.PIECE_VALUES[BitBoard.kindOf(closestPiece)] / 200 * (10 - closestDistance));
         }
         return 0;
     }
@@ -88,26 +86,26 @@ public class KingSafety {
 
     /**
      * this function evaluate the castle and possibility to castle of a player
-     * @param player the player we calculate castling values
-     * @param board the current board
+     * @param position the current position
+     * @param color the color of the player we calculate castling values
      * @return the value of castling for the player
      */
-    public static double calculateCastleValue(Player player, Board board) {
-        if (player.isHasCastled()) {
-            return CASTLE_BONUS + calcPawnsShield(player, board);
+    public static double calculateCastleValue(Position position, Color color) {
+        if (position.isHasCastled(color)) {
+            return CASTLE_BONUS + calcPawnsShield(position, color);
         }
-        else if(!player.getKing().isFirstMove())
+        else if(!position.isFirstMove(position.getKingCoordinate(color)))
             return NONE_CASTLE_PUNISHMENT;
         return 0;
     }
 
     /**
      * this function calculate the king position evaluation according to his pawn shield
-     * @param player the player we calculate his king pos
-     * @param board thr current board
+     * @param position the current position
+     * @param color the color of the player we calculate his king pos
      * @return the evaluation of the pawn shield
      */
-    private static double calcPawnsShield(Player player, Board board) {
+    private static double calcPawnsShield(Position position, Color color) {
         final int[] pawnsBestPos1 = {9, 8, 7};
         final int[] pawnsBestPos2 = {9, 8, 15};
         final int[] pawnsBestPos3 = {9, 16, 7};
@@ -118,7 +116,7 @@ public class KingSafety {
         final int[][] pawnsBestShield = {pawnsBestPos1, pawnsBestPos2, pawnsBestPos3, pawnsBestPos4, pawnsBestPos5,
                 pawnsBestPos6, pawnsBestPos7
         };
-        int kingCoordinate = player.getKing().getPosition();
+        int kingCoordinate = position.getKingCoordinate(color);
         boolean isAllShieldTrue = true;
         // for every possible shield
         for(int[] shield : pawnsBestShield)
@@ -128,13 +126,11 @@ public class KingSafety {
             for(int i : shield)
             {
                 // if there is no pawn in the spot, and the king is not if first column case with the mask
-                if((board.getPieceAtCoordinate(kingCoordinate + i * getDirection(player.getColor())) == null ||
-                (board.getPieceAtCoordinate(kingCoordinate + i * getDirection(player.getColor())).getClass() !=
-                        Pawn.class)) &&
-                        !isPawnFromOtherSide(kingCoordinate, kingCoordinate + i * getDirection(player.getColor())))
+                if(BitBoard.kindOf(position.getPieceAt(kingCoordinate + i * getDirection(color))) != BitBoard.PAWN &&
+                        !isPawnFromOtherSide(kingCoordinate, kingCoordinate + i * getDirection(color)))
                     isAllShieldTrue = false;
             }
-            if(isAllShieldTrue && isOnFirstOrSecond(kingCoordinate, player.getColor()))
+            if(isAllShieldTrue && isOnFirstOrSecond(kingCoordinate, color))
                 return GOOD_PAWNS_SHIELD_BONUS;
         }
         return BED_PAWNS_SHIELD_PUNISHMENT;
@@ -1,11 +1,8 @@
 package logic.player.AI;
 
-import logic.Pieces.Bishop;
-import logic.Pieces.King;
-import logic.Pieces.Pawn;
-import logic.Pieces.Piece;
-
-import java.util.List;
+import logic.BitBoard;
+import logic.Color;
+import logic.Position;
 
 /**
  * this class contains static methods for evaluating a Material of a player
@@ -14,11 +11,11 @@ public class Material {
     private final static double TWO_BISHOPS_BONUS = 0.05;
 
     /**
-     * this function evaluate the material value of the given pieces
-     * @param allActivePieces the pieces we want to evaluate their values
-     * @return material evaluation for the given pieces
+     * this function evaluate the material value of the position
+     * @param position the position we want to evaluate its material
+     * @return material evaluation for the position
      */
-    public static double material(List<Piece> allActivePieces, List<Piece> allEnemyActivePieces)
+    public static double material(Position position)
     {
         /**int numberOfBishops = 0;
         double materialValue = 0;
@@ -29,46 +26,42 @@ public class Material {
         }
         return materialValue
                 + (numberOfBishops == 2 ? TWO_BISHOPS_BONUS : 0);*/
-        return getTotalAdvantage(allActivePieces, allEnemyActivePieces);
+        return getTotalAdvantage(position);
     }
 
 
     /**
      * evaluating the material board, in more  efficient way, that
      * modify the material difference by a "trade down" bonus that encourages the winning side to trade pieces but no pawns
-     * @param allWhiteActivePieces
-     * @param allBlackActivePieces
+     * @param position the position we evaluate
      * @return the total material advantage- minus to black and plus to white
      * the way to calculate the material advantage:
      * @see <a href="https://www.chessprogramming.org/Material_Hash_Table"></a>
      */
-    public static double getTotalAdvantage(List<Piece> allWhiteActivePieces, List<Piece> allBlackActivePieces)
+    public static double getTotalAdvantage(Position position)
     {
-        double whiteSum = 0;
-        double blackSum = 0;
-        int whitePawns = 0;
-        int blackPawns = 0;
-        for(Piece piece : allWhiteActivePieces)
-        {
-            if(piece.getClass() != King.class) {
-                whiteSum += piece.getValue();
-                if(piece.getClass() == Pawn.class)
-                    whitePawns++;
-            }
-        }
-        for(Piece piece : allBlackActivePieces)
-        {
-            if(piece.getClass() != King.class) {
-                blackSum += piece.getValue();
-                if(piece.getClass() == Pawn.class)
-                    blackPawns++;
-            }
-
-        }
+        double whiteSum = materialSum(position, Color.White);
+        double blackSum = materialSum(position, Color.Black);
+        int whitePawns = Long.bitCount(position.getBitboard(BitBoard.WHITE_PAWN));
+        int blackPawns = Long.bitCount(position.getBitboard(BitBoard.BLACK_PAWN));
         double md = Math.abs(whiteSum - blackSum);
         double pa = whiteSum > blackSum ? whitePawns : blackPawns;
         double ms = Math.min(24, md) + ((md * pa * (80 - (whiteSum + blackSum))) / (64 * (pa + 1)));
         double totalAdv = Math.min(31, ms);
         return whiteSum >= blackSum ? totalAdv : -1*totalAdv;
     }
+
+    /**
+     * calculate the value of all the pieces of a color, without the king
+     * @param position the position we evaluate
+     * @param color the color of the pieces
+     * @return the material sum of the color
+     */
+    public static double materialSum(Position position, Color color)
+    {
+        double sum = 0;
+        for(int kind = BitBoard.PAWN; kind < BitBoard.KING; kind++)
+            sum += Long.bitCount(position.getBitboard(BitBoard.pieceIndex(kind, color))) * Position.PIECE_VALUES[kind];
+        return sum;
+    }
 }
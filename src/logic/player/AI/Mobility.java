@@ -1,14 +1,10 @@
 package logic.player.AI;
 
-import logic.Board;
+import logic.BitBoard;
 import logic.Color;
-import logic.Move;
-import logic.MoveTransition;
-import logic.Pieces.Bishop;
-import logic.Pieces.King;
-import logic.Pieces.Knight;
-import logic.Pieces.Rook;
-import logic.player.Player;
+import logic.MoveEncoding;
+import logic.MoveList;
+import logic.Position;
 
 /**
  * this class contains static methods for evaluating a Mobility of a player
@@ -24,21 +20,24 @@ public class Mobility {
     private final static double DETENTION_PUNISHMENT_MULTIPLIER = 0.1;
     /**
      * this function evaluate player mobility
-     * @param player the player we calculate his mobility
+     * @param position the position we are in
+     * @param color the color of the player we calculate his mobility
+     * @param moves the moves of the player
      * @return evaluation of the player's mobility
      */
-    public static double mobility(Player player, Board board) {
+    public static double mobility(Position position, Color color, MoveList moves) {
         double mobilityValue = 0;
-        for(Move move : player.getLegalMoves()) {
+        for(int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int from = MoveEncoding.getFrom(move);
+            int to = MoveEncoding.getTo(move);
             // according to the piece
-            if (Rook.class.equals(move.getPieceMoved().getClass())) {
-                mobilityValue += calcRookMoves(move, player);
-            } else if (Bishop.class.equals(move.getPieceMoved().getClass())) {
-                mobilityValue += calcBishopMoves(move, player);
-            } else if (Knight.class.equals(move.getPieceMoved().getClass())) {
-                mobilityValue += calcKnightMoves(move, player);
-            } else
-                mobilityValue += 0.001;
+            switch (BitBoard.kindOf(position.getPieceAt(from))) {
+                case BitBoard.ROOK -> mobilityValue += calcRookMoves(from, to, color);
+                case BitBoard.BISHOP -> mobilityValue += calcBishopMoves(from, to, color);
+                case BitBoard.KNIGHT -> mobilityValue += calcKnightMoves(from, to, color);
+                default -> mobilityValue += 0.001;
+            }
             // detention can be implemented
         }
         return mobilityValue;
@@ -46,67 +45,59 @@ public class Mobility {
 
     /**
      * this function calculate the rook moves evaluation, according to the rook moves forward, backward or to sides
-     * @param move the move we investigate
-     * @param player the player we evaluate for
+     * @param from the coordinate the rook moves from
+     * @param to the coordinate the rook moves to
+     * @param color the color of the player we evaluate for
      * @return the evaluation for the rook mobility
      */
-    public static double calcRookMoves(Move move, Player player)
+    public static double calcRookMoves(int from, int to, Color color)
     {
         int sideMove = 0;
         int forwardMove = 0;
         int backwardMove = 0;
-        if(Math.abs(move.getCoordinateMovedTo() - move.getPieceMoved().getPosition()) <8 )
+        if(Math.abs(to - from) <8 )
             sideMove++;
-        else if((move.getCoordinateMovedTo() - move.getPieceMoved().getPosition()) * getDirection(player) >= 8)
+        else if((to - from) * color.getDirection() >= 8)
             forwardMove++;
-        else if((move.getCoordinateMovedTo() - move.getPieceMoved().getPosition()) * getDirection(player) <= -8)
+        else if((to - from) * color.getDirection() <= -8)
             backwardMove++;
         return sideMove * ROOK_SIDE_MOVES_MULTIPLIER + forwardMove * ROOK_FORWARD_MOVES_MULTIPLIER + backwardMove * ROOK_BACKWARD_MOVES_MULTIPLIER;
     }
 
     /**
      * this function calculate the knight moves evaluation, according to the knight moves forward and backward
-     * @param move the move we investigate
-     * @param player the player we evaluate for
+     * @param from the coordinate the knight moves from
+     * @param to the coordinate the knight moves to
+     * @param color the color of the player we evaluate for
      * @return the evaluation for the knight mobility
      */
-    public static double calcKnightMoves(Move move, Player player)
+    public static double calcKnightMoves(int from, int to, Color color)
     {
         int forwardMove = 0;
         int backwardMove = 0;
-        if((move.getCoordinateMovedTo() - move.getPieceMoved().getPosition()) * getDirection(player) >= 6)
+        if((to - from) * color.getDirection() >= 6)
             forwardMove++;
-        else if((move.getCoordinateMovedTo() - move.getPieceMoved().getPosition()) * getDirection(player) <= -6)
+        else if((to - from) * color.getDirection() <= -6)
             backwardMove++;
         return forwardMove * KNIGHT_FORWARD_MOVES_MULTIPLIER + backwardMove * KNIGHT_BACKWARD_MOVES_MULTIPLIER;
     }
 
     /**
      * this function calculate the bishop moves evaluation, according to the bishop moves forward and backward
-     * @param move the move we investigate
-     * @param player the player we evaluate for
+     * @param from the coordinate the bishop moves from
+     * @param to the coordinate the bishop moves to
+     * @param color the color of the player we evaluate for
      * @return the evaluation for the bishop mobility
      */
-    public static double calcBishopMoves(Move move, Player player)
+    public static double calcBishopMoves(int from, int to, Color color)
     {
         int forwardMove = 0;
         int backwardMove = 0;
-        if((move.getCoordinateMovedTo() - move.getPieceMoved().getPosition()) * getDirection(player) >= 7)
+        if((to - from) * color.getDirection() >= 7)
             forwardMove++;
-        else if((move.getCoordinateMovedTo() - move.getPieceMoved().getPosition()) * getDirection(player) <= -7)
+        else if((to - from) * color.getDirection() <= -7)
             backwardMove++;
         return forwardMove * BISHOP_FORWARD_MOVES_MULTIPLIER + backwardMove * BISHOP_BACKWARD_MOVES_MULTIPLIER;
     }
 
-    /**
-     * get the movement direction for the player
-     * @param player the player
-     * @return the direction of the player
-     */
-    public static int getDirection(Player player)
-    {
-        if(player.getColor() == Color.White)
-            return -1;
-        return 1;
-    }
 }
@@ -0,0 +1,168 @@
+package logic.player.AI;
+
+import logic.MoveEncoding;
+import logic.MoveList;
+import logic.Position;
+
+/**
+ * this class gives the moves of a position to the search one by one, in stages:
+ * the transposition table move, the attacks and pawn promotions, the killer moves, and the quiet moves.
+ * every stage is generated only when the stage before it is used up, so a cut-off saves the generation
+ * and the sorting of the next stages(a cut-off by the transposition table move saves all of them)
+ */
+public class MovePicker {
+    private static final int TT_MOVE = 0;
+    private static final int CAPTURES = 1;
+    private static final int KILLERS = 2;
+    private static final int QUIETS = 3;
+    private static final int EVASIONS = 4;
+    private static final int DONE = 5;
+
+    private final MoveList moves;
+    private Position position;
+    private int ttMove;
+    private int[] killers;
+    private boolean capturesOnly;
+    private int stage;
+    private int index;
+    // if the moves of the current stage were generated
+    private boolean isGenerated;
+
+    public MovePicker() {
+        this.moves = new MoveList();
+    }
+
+    /**
+     * start picking all the moves of the player who it's his turn
+     * @param position the position to pick the moves of
+     * @param ttMove the best move from the transposition table, or NO_MOVE
+     * @param killers the quiet moves that caused a cut-off in the same distance from the root
+     */
+    public void init(Position position, int ttMove, int[] killers) {
+        this.position = position;
+        this.ttMove = ttMove;
+        this.killers = killers;
+        this.capturesOnly = false;
+        setStage(TT_MOVE);
+    }
+
+    /**
+     * start picking only the attacks and the pawn promotions of the player who it's his turn, for the quiescence
+     * @param position the position to pick the moves of
+     */
+    public void initCaptures(Position position) {
+        this.position = position;
+        this.ttMove = MoveEncoding.NO_MOVE;
+        this.killers = null;
+        this.capturesOnly = true;
+        setStage(CAPTURES);
+    }
+
+    /**
+     * get the next move to search, the moves are pseudo legal(makeMove checks their legality)
+     * @return the next encoded move, or NO_MOVE when there are no more moves
+     */
+    public int next() {
+        while (true) {
+            switch (stage) {
+                case TT_MOVE -> {
+                    // the next stage is generated only if the transposition table move doesn't cut off
+                    setStage(position.isInCheck() ? EVASIONS : CAPTURES);
+                    if (ttMove != MoveEncoding.NO_MOVE && position.isPseudoLegal(ttMove))
+                        return ttMove;
+                }
+                case CAPTURES, QUIETS, EVASIONS -> {
+                    if (!isGenerated)
+                        generateStage();
+                    int move = pickBest();
+                    if (move != MoveEncoding.NO_MOVE)
+                        return move;
+                    setStage(stage == CAPTURES && !capturesOnly ? KILLERS : DONE);
+                }
+                case KILLERS -> {
+                    while (index < killers.length) {
+                        int killer = killers[index++];
+                        if (isKiller(killer))
+                            return killer;
+                    }
+                    setStage(QUIETS);
+                }
+                default -> {
+                    return MoveEncoding.NO_MOVE;
+                }
+            }
+        }
+    }
+
+    /**
+     * move to a stage, its moves are generated when they are first needed
+     * @param stage the stage
+     */
+    private void setStage(int stage) {
+        this.stage = stage;
+        this.index = 0;
+        this.isGenerated = false;
+    }
+
+    /**
+     * generate the moves of the current stage
+     */
+    private void generateStage() {
+        switch (stage) {
+            case CAPTURES -> position.generateCaptures(moves);
+            case QUIETS -> position.generateQuiets(moves);
+            case EVASIONS -> position.generateEvasions(moves);
+        }
+        isGenerated = true;
+    }
+
+    /**
+     * take the best move that is left in the stage, by selection(the stages are short and usually cut off early)
+     * @return the best encoded move, or NO_MOVE if the stage is used up
+     */
+    private int pickBest() {
+        while (index < moves.size()) {
+            int best = index;
+            for (int i = index + 1; i < moves.size(); i++) {
+                // the earlier move wins a tie, like the stable sort of SortMoves
+                if (SortMoves.compare(position, moves.get(i), moves.get(best)) < 0)
+                    best = i;
+            }
+            int move = moves.get(best);
+            // shift instead of swapping, to keep the order of the rest of the moves
+            for (int i = best; i > index; i--)
+                moves.set(i, moves.get(i - 1));
+            moves.set(index++, move);
+            if (!wasPicked(move))
+                return move;
+        }
+        return MoveEncoding.NO_MOVE;
+    }
+
+    /**
+     * check if a killer move can be played in the position
+     * @param killer the killer move
+     * @return true if the killer is a quiet move of the position that wasn't picked yet, false otherwise
+     */
+    private boolean isKiller(int killer) {
+        return killer != MoveEncoding.NO_MOVE && killer != ttMove && !MoveEncoding.isAttack(killer)
+                && !MoveEncoding.isPawnPromotion(killer) && position.isPseudoLegal(killer);
+    }
+
+    /**
+     * check if a move was already given by an earlier stage
+     * @param move the encoded move
+     * @return true if the move is the transposition table move or a killer move, false otherwise
+     */
+    private boolean wasPicked(int move) {
+        if (move == ttMove)
+            return true;
+        if (stage != QUIETS)
+            return false;
+        for (int killer : killers) {
+            if (move == killer)
+                return true;
+        }
+        return false;
+    }
+}
@@ -1,12 +1,8 @@
 package logic.player.AI;
 
-import logic.Board;
+import logic.BitBoard;
 import logic.Color;
-import logic.Pieces.Pawn;
-import logic.Pieces.Piece;
-import logic.player.Player;
-
-import java.util.List;
+import logic.Position;
 
 /**
  * this class contains static methods for evaluating a Pawn structure of a player
@@ -20,89 +16,86 @@ public class PawnStruct {
 
     /**
      * this function evaluate the player pawn struct, according to pawns stack and isolated pawns
-     * @param player the player we want to analyze his pawn structure
-     * @param allActivePieces list of all the active pieces of the player
+     * @param position the position we are in
+     * @param color the color of the player we want to analyze his pawn structure
      * @return double that represent the pawn structure evaluation of the player
      */
-    public static double pawnStruct(Player player, List<Piece> allActivePieces)
+    public static double pawnStruct(Position position, Color color)
     {
-        int[] pawnsArr = getPawnsPlacesArray(allActivePieces);
+        long pawns = position.getBitboard(BitBoard.pieceIndex(BitBoard.PAWN, color));
+        int[] pawnsArr = getPawnsPlacesArray(pawns);
         return calculateDoublePawns(pawnsArr) + calculateIsolatedPawns(pawnsArr) + PawnIslands(pawnsArr)
-                + BackwardPawns(player.getBoard(), allActivePieces);
+                + BackwardPawns(position, color, pawns);
 
     }
 
     /**
      * this function evaluate the backward pawns of the player in the board
-     * @param board the board we are in
-     * @param allActivePieces all the players active pieces
+     * @param position the position we are in
+     * @param color the color of the player
+     * @param pawns the bitboard of the player's pawns
      * @return the backward evaluation
      */
-    private static double BackwardPawns(Board board, List<Piece> allActivePieces) {
+    private static double BackwardPawns(Position position, Color color, long pawns) {
 // some time passes
         boolean isBackward;
         boolean isOpenFile;
         int backwardCounter = 0;
         int openFileCounter = 0;
-        for (Piece piece : allActivePieces) {
+        int pawn = BitBoard.pieceIndex(BitBoard.PAWN, color);
+        int enemyPawn = BitBoard.pieceIndex(BitBoard.PAWN, Position.opposite(color));
+        for (; pawns != 0; pawns &= pawns - 1) {
             isBackward = true;
             isOpenFile = true;
-            if (piece.getClass() == Pawn.class) {
-                int pawnLoc = piece.getPosition();
-                int pawnCol = pawnLoc % 8;
-                int dif;
-                long start = System.currentTimeMillis();
-                if (pawnCol != 7 && pawnCol != 0) {
-                    for (int i = pawnCol + 1; i < EvaluationAssistants.size; i += 8) {
-                        Piece pieceChecked = board.getPieceAtCoordinate(i);
-                        if (pieceChecked != null && pieceChecked.getClass() == Pawn.class && pieceChecked.getColor() == piece.getColor()){
-                            dif = (pawnLoc - i) * piece.getColor().getDirection();
-                            if (dif >= -1)
-                                isBackward = false;
-                        }
+            int pawnLoc = BitBoard.firstCoordinate(pawns);
+            int pawnCol = pawnLoc % 8;
+            int dif;
+            if (pawnCol != 7 && pawnCol != 0) {
+                for (int i = pawnCol + 1; i < EvaluationAssistants.size; i += 8) {
+                    if (position.getPieceAt(i) == pawn) {
+                        dif = (pawnLoc - i) * color.getDirection();
+                        if (dif >= -1)
+                            isBackward = false;
                     }
-                    for (int i = pawnCol - 1; i < EvaluationAssistants.size; i += 8) {
-                        Piece pieceChecked = board.getPieceAtCoordinate(i);
-                        if (pieceChecked != null && pieceChecked.getClass() == Pawn.class && pieceChecked.getColor() == piece.getColor()) {
-                            dif = (pawnLoc - i) * piece.getColor().getDirection();
-                            if (dif >= -1)
-                                isBackward = false;
-                        }
+                }
+                for (int i = pawnCol - 1; i < EvaluationAssistants.size; i += 8) {
+                    if (position.getPieceAt(i) == pawn) {
+                        dif = (pawnLoc - i) * color.getDirection();
+                        if (dif >= -1)
+                            isBackward = false;
                     }
                 }
-                if (pawnCol == 0) {
-                    for (int i = pawnCol + 1; i < EvaluationAssistants.size; i += 8) {
-                        Piece pieceChecked = board.getPieceAtCoordinate(i);
-                        if (pieceChecked != null && pieceChecked.getClass() == Pawn.class && pieceChecked.getColor() == piece.getColor()) {
-                            dif = (pawnLoc - i) * piece.getColor().getDirection();
-                            if (dif >= -1)
-                                isBackward = false;
-                        }
+            }
+            if (pawnCol == 0) {
+                for (int i = pawnCol + 1; i < EvaluationAssistants.size; i += 8) {
+                    if (position.getPieceAt(i) == pawn) {
+                        dif = (pawnLoc - i) * color.getDirection();
+                        if (dif >= -1)
+                            isBackward = false;
                     }
                 }
-                if (pawnCol == 7) {
-                    for (int i = pawnCol - 1; i < EvaluationAssistants.size; i += 8) {
-                        if (board.getPieceAtCoordinate(i) != null && board.getPieceAtCoordinate(i).getClass() == Pawn.class) {
-                            dif = (pawnLoc - i) * piece.getColor().getDirection();
-                            if (dif >=-1)
-                                isBackward = false;
-                        }
+            }
+            if (pawnCol == 7) {
+                for (int i = pawnCol - 1; i < EvaluationAssistants.size; i += 8) {
+                    if (BitBoard.kindOf(position.getPieceAt(i)) == BitBoard.PAWN) {
+                        dif = (pawnLoc - i) * color.getDirection();
+                        if (dif >=-1)
+                            isBackward = false;
                     }
                 }
+            }
 
-                for(int i = pawnLoc;i < EvaluationAssistants.size && i > 0;i+= 8 * piece.getColor().getDirection() )
-                {
-                    Piece pieceChecked = board.getPieceAtCoordinate(i);
-                    if(pieceChecked != null && pieceChecked.getClass() == Pawn.class && pieceChecked.getColor() != piece.getColor())
-                        isOpenFile = false;
-                }
-                if(isBackward && isOpenFile) {
-                    backwardCounter++;
-                    openFileCounter++;
-                }
-                else if(isBackward)
-                    backwardCounter++;
+            for(int i = pawnLoc;i < EvaluationAssistants.size && i > 0;i+= 8 * color.getDirection() )
+            {
+                if(position.getPieceAt(i) == enemyPawn)
+                    isOpenFile = false;
+            }
+            if(isBackward && isOpenFile) {
+                backwardCounter++;
+                openFileCounter++;
             }
+            else if(isBackward)
+                backwardCounter++;
         }
         return backwardCounter * BACKWARD_PAWN_PUNISHMENT + openFileCounter * OPEN_FILE_BACKWARD_PAWN_PUNISHMENT;
     }
@@ -110,16 +103,15 @@ public class PawnStruct {
     /**
      * this function count the number of pawns of the player in every column, and put the number in the place in the array
      * it returns
-     * @param allActivePieces all the active pieces of the player
+     * @param pawns the bitboard of the pawns of the player
      * @return an array that represent the number of pawns in every column
      */
-    public static int[] getPawnsPlacesArray(List<Piece> allActivePieces)
+    public static int[] getPawnsPlacesArray(long pawns)
     {
         int [] pawnsArr = {0, 0, 0, 0, 0, 0, 0, 0};
-        for(Piece piece: allActivePieces)
+        for(; pawns != 0; pawns &= pawns - 1)
         {
-            if(piece.getClass() == Pawn.class)
-                pawnsArr[piece.getPosition() % 8]++;
+            pawnsArr[BitBoard.firstCoordinate(pawns) % 8]++;
         }
         return pawnsArr;
     }
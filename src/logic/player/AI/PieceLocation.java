@@ -1,11 +1,11 @@
 package logic.player.AI;
 
+import logic.BitBoard;
 import logic.Board;
 import logic.Color;
-import logic.Pieces.Piece;
-import logic.Pieces.Queen;
+import logic.Pieces.*;
+import logic.Position;
 
-import java.util.List;
 /**
  * this class contains static methods for evaluating a Piece location of a player
  */
@@ -16,39 +16,46 @@ public class PieceLocation {
     private static final double EARLY_QUEEN_DEVELOPMENT_PUNISHMENT = -0.75 / PIECE_SQUARE_TABLE_REDUCER ;
     /**
      * this function evaluate the pieces' location on the board
-     * @param allActivePieces all the player's active pieces
+     * @param position the position we are in
+     * @param color the color of the player
      * @param gameStage the game stage we are in
      * @return the piece location evaluation
      */
-    public static double pieceLocation(List<Piece> allActivePieces, GameStage gameStage)
+    public static double pieceLocation(Position position, Color color, GameStage gameStage)
     {
         double locationBonus = 0;
-        for(Piece piece : allActivePieces) {
-            locationBonus += piece.locationBonus(gameStage);
-            if(piece.getClass() == Queen.class)
-                locationBonus += earlyQueenDevelopment(allActivePieces, gameStage, piece);
-
+        for(long pieces = position.getOccupancy(color); pieces != 0; pieces &= pieces - 1) {
+            int coordinate = BitBoard.firstCoordinate(pieces);
+            switch (BitBoard.kindOf(position.getPieceAt(coordinate))) {
+                case BitBoard.PAWN -> locationBonus += Pawn.locationBonus(color, coordinate);
+                case BitBoard.KNIGHT -> locationBonus += Knight.locationBonus(color, coordinate);
+                case BitBoard.BISHOP -> locationBonus += Bishop.locationBonus(color, coordinate);
+                case BitBoard.ROOK -> locationBonus += Rook.locationBonus(color, coordinate);
+                case BitBoard.QUEEN -> locationBonus += Queen.locationBonus(color, coordinate)
+                        + earlyQueenDevelopment(color, gameStage, coordinate);
+                case BitBoard.KING -> locationBonus += King.locationBonus(color, coordinate, gameStage);
+            }
         }
         return locationBonus * PIECE_SQUARE_TABLE_REDUCER;
     }
 
     /**
      * this function return the early development of a queen evaluation-development(not in the first 2 rows)
-     * @param allActivePieces all the player active pieces
+     * @param color the color of the queen
      * @param gameStage the game stage we are currently in
+     * @param loc the coordinate of the queen
      * @return evaluation to queen early development
      */
-    private static double earlyQueenDevelopment(List<Piece> allActivePieces, GameStage gameStage, Piece queen)
+    private static double earlyQueenDevelopment(Color color, GameStage gameStage, int loc)
     {
-        if(queen != null && gameStage == GameStage.OPENING)
+        if(gameStage == GameStage.OPENING)
         {
-            int loc = queen.getPosition();
-            if(queen.getColor() == Color.White)
+            if(color == Color.White)
             {
                 if(!(Board.size - loc - 1 >= 0 && Board.size - loc - 1 <= 15))
                     return EARLY_QUEEN_DEVELOPMENT_PUNISHMENT;
             }
-            if(queen.getColor() == Color.Black)
+            if(color == Color.Black)
             {
                 if(!(loc >= 0 && loc <= 15))
                     return EARLY_QUEEN_DEVELOPMENT_PUNISHMENT;
@@ -56,19 +63,4 @@ public class PieceLocation {
         }
         return 0;
     }
-
-    /**
-     * find the queen for the player
-     * @param allActivePieces all the player active pieces
-     * @return the queen of the player, or null if no queen was found
-     */
-    private static Piece findQueen(List<Piece> allActivePieces)
-    {
-        for(Piece piece : allActivePieces)
-        {
-            if(piece.getClass() == Queen.class)
-                return piece;
-        }
-        return null;
-    }
 }
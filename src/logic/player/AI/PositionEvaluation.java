@@ -1,14 +1,13 @@
 package logic.player.AI;
 
 import gui.Result;
+import logic.BitBoard;
 import logic.Board;
 import logic.Color;
-import logic.Move;
-import logic.Pieces.King;
-import logic.Pieces.Piece;
-import logic.player.Player;
+import logic.MoveEncoding;
+import logic.MoveList;
+import logic.Position;
 
-import java.util.List;
 /**
  * this class contains static methods for evaluating a full position of a player
  */
@@ -28,30 +27,48 @@ public class PositionEvaluation {
      * @param board the board we evaluate
      * @param distanceFromRoot the distance of the evaluated position from the root position
      * @return the evaluation of the board
-     * @see #score(Board, Player, GameStage)
+     * @see #evaluate(Position, int)
      */
     public static double evaluate(Board board, int distanceFromRoot)
     {
-        GameStage gameStage = calculateGameStage(board);
+        return evaluate(new Position(board), distanceFromRoot);
+    }
+
+    /**
+     * evaluate the given position, by subtracting the white player evaluation with the black player evaluation
+     * the biggest it will return-the better for the player who it's his turn
+     * @param position the position we evaluate
+     * @param distanceFromRoot the distance of the evaluated position from the root position
+     * @return the evaluation of the position
+     * @see #score(Position, Color, MoveList, MoveList, GameStage)
+     */
+    public static double evaluate(Position position, int distanceFromRoot)
+    {
+        GameStage gameStage = calculateGameStage(position);
         // the score of the white - the score of the black
-        if(board.gameResult() == Result.DRAW)
+        if(position.gameResult() == Result.DRAW)
             return 0;
-        if(board.getTurn().isInCheckMate()) {
+        if(position.isInCheckMate()) {
             return -PositionEvaluation.MATE + distanceFromRoot;
         }
-        if(board.getTurn().getColor() == Color.White)
-            return (score(board, board.getWhitePlayer(), gameStage) - score(board, board.getBlackPlayer(), gameStage)) + Material.material(board.getWhitePieces(), board.getBlackPieces());
-        return -((score(board, board.getWhitePlayer(), gameStage) - score(board, board.getBlackPlayer(), gameStage)) + Material.material(board.getWhitePieces(), board.getBlackPieces()));
+        MoveList whiteMoves = position.generateMoves(Color.White, position.getMoveBuffer(Position.WHITE_MOVES));
+        MoveList blackMoves = position.generateMoves(Color.Black, position.getMoveBuffer(Position.BLACK_MOVES));
+        double evaluation = score(position, Color.White, whiteMoves, blackMoves, gameStage)
+                - score(position, Color.Black, blackMoves, whiteMoves, gameStage)
+                + Material.material(position);
+        if(position.getTurn() == Color.White)
+            return evaluation;
+        return -evaluation;
 
     }
 
     /**
      * this function calculate the game stage according to the material left og the board
-     * @param board the board we want to Determine his game stage
+     * @param position the position we want to Determine his game stage
      * @return Enum of the game stage(OPENING,MIDGAME OR ENDING)
      */
-    private static GameStage calculateGameStage(Board board) {
-        double materialLeft = calcMaterial(board);
+    private static GameStage calculateGameStage(Position position) {
+        double materialLeft = calcMaterial(position);
         if(materialLeft > OPENING_MATERIAL_SUM)
             return GameStage.OPENING;
         else if(materialLeft <= OPENING_MATERIAL_SUM && materialLeft > MIDGAME_MATERIAL_SUM)
@@ -60,89 +77,83 @@ public class PositionEvaluation {
     }
 
     /**
-     * calculate the material on the board
-     * @param board the board we want to calculate on
-     * @return the material value on this board
+     * calculate the material on the board(without the kings)
+     * @param position the position we want to calculate on
+     * @return the material value on this position
      */
-    private static double calcMaterial(Board board) {
-        double materialSum = 0;
-        for(Piece piece : board.board_state.values())
-        {
-            // if the piece is not king,add her value
-            if(piece != null && piece.getClass() != King.class)
-                materialSum += piece.value;
-
-        }
-        return materialSum;
+    private static double calcMaterial(Position position) {
+        return Material.materialSum(position, Color.White) + Material.materialSum(position, Color.Black);
     }
 
     /**
-     * this function evaluate the score of the board for the given player
-     * @param board the board we calculate on
-     * @param player the player we calculate the score for
+     * this function evaluate the score of the position for the given player
+     * @param position the position we calculate on
+     * @param color the color of the player we calculate the score for
+     * @param moves the possible moves of the player
+     * @param rivalMoves the possible moves of the rival
      * @param gameStage Enum of the game stage
      * @return the evaluation of the player position on this board
      * @see GameStage
      */
-    public static double score(Board board, Player player, GameStage gameStage)
+    public static double score(Position position, Color color, MoveList moves, MoveList rivalMoves, GameStage gameStage)
     {
-        List<Piece> allActivePieces = player.getActivePieces();
-        List<Piece> enemyActivePieces = player.getRival().getActivePieces();
         return switch (gameStage) {
             // if opening game stage
             case OPENING ->
-                    Mobility.mobility(player, board) * MOBILITY_VALUE_OPENING+
-                    PawnStruct.pawnStruct(player, allActivePieces) +
-                    checkmate(player) + attacks(player) +
-                    RookStruct.rookStruct(board, allActivePieces)+
-                    CenterControl.centerControl(player, board)+
-                    KingSafety.calculateKingSafety(player, board, gameStage) +
-                    PieceLocation.pieceLocation(allActivePieces, gameStage)
+                    Mobility.mobility(position, color, moves) * MOBILITY_VALUE_OPENING+
+                    PawnStruct.pawnStruct(position, color) +
+                    checkmate(position, color) + attacks(position, moves) +
+                    RookStruct.rookStruct(position, color)+
+                    CenterControl.centerControl(position, color, moves)+
+                    KingSafety.calculateKingSafety(position, color, rivalMoves, gameStage) +
+                    PieceLocation.pieceLocation(position, color, gameStage)
             ;
             // if midgame game stage
             case MIDGAME ->
-                    Mobility.mobility(player, board) * MOBILITY_VALUE_MIDGAME+
-                    PawnStruct.pawnStruct(player, allActivePieces) +
-                    CenterControl.centerControl(player, board) +
-                    checkmate(player) + attacks(player) +
-                    RookStruct.rookStruct(board, allActivePieces)+
-                    KingSafety.calculateKingSafety(player, board, gameStage) +
-                    PieceLocation.pieceLocation(allActivePieces, gameStage)
+                    Mobility.mobility(position, color, moves) * MOBILITY_VALUE_MIDGAME+
+                    PawnStruct.pawnStruct(position, color) +
+                    CenterControl.centerControl(position, color, moves) +
+                    checkmate(position, color) + attacks(position, moves) +
+                    RookStruct.rookStruct(position, color)+
+                    KingSafety.calculateKingSafety(position, color, rivalMoves, gameStage) +
+                    PieceLocation.pieceLocation(position, color, gameStage)
 
             ;
             // if ending game stage
             case ENDING ->
-                    Mobility.mobility(player, board) * MOBILITY_VALUE_ENDING +
-                    PawnStruct.pawnStruct(player, allActivePieces) +
-                    checkmate(player) + attacks(player) +
-                    RookStruct.rookStruct(board, allActivePieces)+
-                    KingSafety.calculateKingSafety(player, board, gameStage) +
-                    PieceLocation.pieceLocation(allActivePieces, gameStage)
+                    Mobility.mobility(position, color, moves) * MOBILITY_VALUE_ENDING +
+                    PawnStruct.pawnStruct(position, color) +
+                    checkmate(position, color) + attacks(position, moves) +
+                    RookStruct.rookStruct(position, color)+
+                    KingSafety.calculateKingSafety(position, color, rivalMoves, gameStage) +
+                    PieceLocation.pieceLocation(position, color, gameStage)
             ;
         };
     }
 
     /**
      * this function checks if the player rival is in checkmate
-     * @param player the player we check if gave checkmate
+     * @param position the position we are in
+     * @param color the color of the player we check if gave checkmate
      * @return true if the rival on checkmate, false otherwise
      */
-    private static double checkmate(Player player) {
-        return (player.getRival().isInCheckMate() ?  MATE :  0);
+    private static double checkmate(Position position, Color color) {
+        // only the player who it's his turn can be in checkmate
+        return (position.getTurn() != color && position.isInCheckMate() ?  MATE :  0);
     }
 
     /**
      * this function evaluate good eating moves(where smaller piece eat a bigger piece)
-     * @param player the player we look for good eating moves
+     * @param position the position we are in
+     * @param moves the possible moves of the player
      * @return the evaluation for good eating moves
      */
-    private static double attacks(final Player player) {
+    private static double attacks(final Position position, final MoveList moves) {
         int attackScore = 0;
-        for(final Move move : player.getLegalMoves()) {
-            if(move instanceof Move.AttackMove) {
-                final Piece movedPiece = move.getPieceMoved();
-                final Piece attackedPiece = ((Move.AttackMove) move).getAttackedPiece();
-                if(movedPiece.value <= attackedPiece.value) {
+        for(int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if(MoveEncoding.isAttack(move)) {
+                if(SortMoves.movedValue(position, move) <= SortMoves.attackedValue(position, move)) {
                     attackScore++;
                 }
             }
@@ -156,32 +167,34 @@ public class PositionEvaluation {
      * @return String of the evaluation details
      */
     public static String evaluationDetails(final Board board) {
-        List<Piece> WallActivePieces = board.getWhitePieces();
-        List<Piece> BallActivePieces = board.getBlackPieces();
+        Position position = new Position(board);
+        GameStage gameStage = calculateGameStage(position);
+        MoveList whiteMoves = position.generateMoves(Color.White);
+        MoveList blackMoves = position.generateMoves(Color.Black);
         return
-                "\ngame stage" + calculateGameStage(board) + "\n" +
-                ("White:\n material: "  + Material.material(WallActivePieces, BallActivePieces) + " \nmobility:" +
-        Mobility.mobility(board.getWhitePlayer() ,board) * MOBILITY_VALUE_OPENING+"\n pawns"+
-                PawnStruct.pawnStruct(board.getWhitePlayer(), WallActivePieces) +"\nchackmate:"+
-                checkmate(board.getWhitePlayer())) + "\n attack: " + attacks(board.getWhitePlayer()) +"\ncenter:"+
-                CenterControl.centerControl(board.getWhitePlayer(), board)+"\nrooks:"+
-                RookStruct.rookStruct(board, WallActivePieces ) +"\n"+
-                        "kingtro :" + KingSafety.calculateKingTropism(board.getWhitePlayer()) + "\n" +
-                        "saftey: " + KingSafety.calculateKingSafety(board.getWhitePlayer(), board, calculateGameStage(board)) + "\n"+
-                        "PL:" + PieceLocation.pieceLocation(WallActivePieces, calculateGameStage(board)) +
-
-                        "black +: \n material" + Material.material(BallActivePieces, WallActivePieces) + "\nmobility:" +
-                        Mobility.mobility(board.getBlackPlayer(),board) * MOBILITY_VALUE_OPENING+"\n pawns"+
-                        PawnStruct.pawnStruct(board.getBlackPlayer(), BallActivePieces) +"\n checkmate"+
-                        checkmate(board.getBlackPlayer()) +"\n attack:" + attacks(board.getBlackPlayer()) +"\ncenter:"+
-                CenterControl.centerControl(board.getBlackPlayer(), board)+"\nrooks:"+
-                RookStruct.rookStruct(board, BallActivePieces ) +"\n"+
-                        "kingtro"+ KingSafety.calculateKingTropism(board.getBlackPlayer()) + "\n" +
-                        "saftey: " + KingSafety.calculateKingSafety(board.getBlackPlayer(), board, calculateGameStage(board)) + "\n" +
-                        "casled" + board.getBlackPlayer().isHasCastled() +
-                        "PL:" + PieceLocation.pieceLocation(BallActivePieces, calculateGameStage(board)) +
-
-                        "Final Score = " + evaluate(board, 0);
+                "\ngame stage" + gameStage + "\n" +
+                ("White:\n material: "  + Material.material(position) + " \nmobility:" +
+        Mobility.mobility(position, Color.White, whiteMoves) * MOBILITY_VALUE_OPENING+"\n pawns"+
+                PawnStruct.pawnStruct(position, Color.White) +"\nchackmate:"+
+                checkmate(position, Color.White)) + "\n attack: " + attacks(position, whiteMoves) +"\ncenter:"+
+                CenterControl.centerControl(position, Color.White, whiteMoves)+"\nrooks:"+
+                RookStruct.rookStruct(position, Color.White) +"\n"+
+                        "kingtro :" + KingSafety.calculateKingTropism(position, Color.White, blackMoves) + "\n" +
+                        "saftey: " + KingSafety.calculateKingSafety(position, Color.White, blackMoves, gameStage) + "\n"+
+                        "PL:" + PieceLocation.pieceLocation(position, Color.White, gameStage) +
+
+                        "black +: \n material" + -Material.material(position) + "\nmobility:" +
+                        Mobility.mobility(position, Color.Black, blackMoves) * MOBILITY_VALUE_OPENING+"\n pawns"+
+                        PawnStruct.pawnStruct(position, Color.Black) +"\n checkmate"+
+                        checkmate(position, Color.Black) +"\n attack:" + attacks(position, blackMoves) +"\ncenter:"+
+                CenterControl.centerControl(position, Color.Black, blackMoves)+"\nrooks:"+
+                RookStruct.rookStruct(position, Color.Black) +"\n"+
+                        "kingtro"+ KingSafety.calculateKingTropism(position, Color.Black, whiteMoves) + "\n" +
+                        "saftey: " + KingSafety.calculateKingSafety(position, Color.Black, whiteMoves, gameStage) + "\n" +
+                        "casled" + position.isHasCastled(Color.Black) +
+                        "PL:" + PieceLocation.pieceLocation(position, Color.Black, gameStage) +
+
+                        "Final Score = " + evaluate(position, 0);
 
     }
 
@@ -1,12 +1,8 @@
 package logic.player.AI;
 
-import logic.Board;
-import logic.Move;
-import logic.Pieces.Piece;
-import logic.Pieces.Rook;
-
-import java.util.ArrayList;
-import java.util.List;
+import logic.BitBoard;
+import logic.Color;
+import logic.Position;
 
 /**
  * this class contains static methods for evaluating a Rook structure of a player
@@ -17,53 +13,39 @@ public class RookStruct {
 
     /**
      * this function evaluate the rook structure on the board for the player
-     * @param board the board we analyze
-     * @param playerActivePieces all the player's active pieces
+     * @param position the position we analyze
+     * @param color the color of the player
      * @return evaluation of the rook structure of the player
      */
-    public static double rookStruct(Board board, List<Piece> playerActivePieces)
+    public static double rookStruct(Position position, Color color)
     {
-        List<Piece> rooks = findRooks(playerActivePieces);
+        long rooks = position.getBitboard(BitBoard.pieceIndex(BitBoard.ROOK, color));
         // if there are two rooks
-        if(rooks.size() == 2) {
-            Piece rook1 = rooks.get(0);
-            Piece rook2 = rooks.get(1);
-            return calculateConnectedRowRooks(rook1, rook2, board) + calculateConnectedColumnRooks(rook1, rook2, board);
+        if(Long.bitCount(rooks) == 2) {
+            int rook1 = BitBoard.firstCoordinate(rooks);
+            int rook2 = BitBoard.firstCoordinate(rooks & (rooks - 1));
+            long occupancy = position.getOccupancy();
+            return calculateConnectedRowRooks(rook1, rook2, occupancy) + calculateConnectedColumnRooks(rook1, rook2, occupancy);
         }
         return 0;
 
     }
 
-    /**
-     * this function find the rooks on the board
-     * @param playerActivePieces all the player's active pieces
-     * @return list of the rooks of the player
-     */
-    private static List<Piece> findRooks(List<Piece> playerActivePieces) {
-        List<Piece> rooks = new ArrayList<>();
-        for(Piece piece : playerActivePieces)
-        {
-            if(piece.getClass() == Rook.class)
-                rooks.add(piece);
-        }
-        return rooks;
-    }
-
     /**
      * this function evaluate the rook structure according to rooks connected on the Column
-     * @param rook1 the first rook
-     * @param rook2 the second rook
-     * @param board the board we are in
+     * @param rook1 the coordinate of the first rook
+     * @param rook2 the coordinate of the second rook
+     * @param occupancy the bitboard of all the pieces on the board
      * @return the bonus if the rooks are connected on column, 0 otherwise
      */
-    private static double calculateConnectedColumnRooks(Piece rook1, Piece rook2, Board board) {
+    private static double calculateConnectedColumnRooks(int rook1, int rook2, long occupancy) {
         // if the rooks are on the same column
-        if(rook1.getPosition() % 8 == rook2.getPosition() % 8)
+        if(rook1 % 8 == rook2 % 8)
         {
             // check if there are any pieces between the rooks
-            for(int i = Math.min(rook1.getPosition() + 8, rook2.getPosition());i < Math.max(rook1.getPosition(), rook2.getPosition());i+=8)
+            for(int i = Math.min(rook1 + 8, rook2);i < Math.max(rook1, rook2);i+=8)
             {
-                if(board.getPieceAtCoordinate(i) != null)
+                if(BitBoard.isSet(occupancy, i))
                     return 0;
             }
             return CONNECTED_COLUMN_ROOKS_BONUS;
@@ -73,19 +55,19 @@ public class RookStruct {
 
     /**
      * this function evaluate the rook structure according to rooks connected on the Row
-     * @param rook1 the first rook
-     * @param rook2 the second rook
-     * @param board the board we are in
+     * @param rook1 the coordinate of the first rook
+     * @param rook2 the coordinate of the second rook
+     * @param occupancy the bitboard of all the pieces on the board
      * @return the bonus if the rooks are connected on row, 0 otherwise
      */
-    private static double calculateConnectedRowRooks(Piece rook1, Piece rook2, Board board) {
+    private static double calculateConnectedRowRooks(int rook1, int rook2, long occupancy) {
         // if the rooks are on the same row
-        if(rook1.getPosition() / 8 == rook2.getPosition() / 8)
+        if(rook1 / 8 == rook2 / 8)
         {
             // check if there are any pieces between the rooks
-            for(int i = Math.min(rook1.getPosition() + 1, rook2.getPosition());i < Math.max(rook1.getPosition(), rook2.getPosition());i++)
+            for(int i = Math.min(rook1 + 1, rook2);i < Math.max(rook1, rook2);i++)
             {
-                if(board.getPieceAtCoordinate(i) != null)
+                if(BitBoard.isSet(occupancy, i))
                     return 0;
             }
             return CONNECTED_ROW_ROOKS_BONUS;
@@ -0,0 +1,556 @@
+package logic.player.AI;
+
+import logic.Board;
+import logic.Move;
+import logic.MoveEncoding;
+import logic.Position;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * this class is a search engine: the Minimax with alpha-beta pruning, with its own transposition table, time limit,
+ * search workers and statistics, so the searches of different engines don't share anything but the table they
+ * were given. the search runs on the calling thread, and on helper threads that search the same position and
+ * share the transposition table with it(Lazy SMP), or the moves of the nodes are searched in parallel after their
+ * first move(Young Brothers Wait), which gives the same move every time in a search of a given depth.
+ * an engine runs one search at a time, and can be reused for the next search of any game. its threads wait for
+ * the next search between the searches, until the engine is closed
+ * @see SearchWorker
+ * @see Minimax
+ */
+public class SearchEngine implements AutoCloseable {
+    /**
+     * Enum of the ways the threads of a search work together
+     */
+    public enum ParallelMode {
+        // helper threads search the same root and share the transposition table
+        LAZY_SMP,
+        // the moves of a node are searched in parallel after its first move
+        YOUNG_BROTHERS_WAIT
+    }
+
+    // the default memory budget of the transposition table
+    public static final int DEFAULT_HASH_MEGABYTES = 64;
+    // the default time of an iterative deepening search, in milliseconds
+    public static final long DEFAULT_MAX_TIME = 20000;
+    // the time of a search that is not stopped by the clock
+    public static final long NO_TIME_LIMIT = Long.MAX_VALUE;
+
+    TranspositionTable transpositionTable;
+    // if the searches advance the age of the table, false when the owner of a shared table advances it
+    private boolean agingTable = true;
+    private volatile long start = 0;
+    private long maxTime = DEFAULT_MAX_TIME;
+    private volatile boolean timeout;
+    // the stop of the next search or the search that runs now, a new one is armed when a search is finished,
+    // so a stop that comes before the search starts is not lost
+    private volatile AtomicBoolean stopSignal = new AtomicBoolean();
+    // the helpers stop when the search of the calling thread is finished
+    private volatile boolean helpersStopped;
+    // the worker of the calling thread, its move is the move of the search
+    private final SearchWorker mainWorker = new SearchWorker(this, 0);
+    // the workers of the helper threads, one less than the threads of the search
+    private SearchWorker[] helpers = new SearchWorker[0];
+    // the threads of the helpers, they live as long as the workers and wait for every search
+    private Thread[] helperThreads = new Thread[0];
+    // the lock of the helper threads: the number of the search they wait for, the helpers that didn't finish
+    // the search yet, and if the threads must end
+    private final Object helperLock = new Object();
+    private int helperSearch;
+    private int runningHelpers;
+    private boolean helpersClosed;
+    private ParallelMode parallelMode = ParallelMode.LAZY_SMP;
+    private int threads = 1;
+    // the threads of the young brothers wait search, null if the search doesn't split
+    private ForkJoinPool splitPool;
+    // the workers of the split tasks that are free on every thread of the pool, a task that runs inside another
+    // task on the same thread(while it waits for its own tasks) takes a worker of its own
+    private final ThreadLocal<ArrayDeque<SearchWorker>> splitWorkers = ThreadLocal.withInitial(ArrayDeque::new);
+    // a copy of the root of the search, the split workers copy it once a search and make the moves to their nodes
+    private Position splitRoot;
+    // the number of the search, a split worker whose position is of another search copies the root again
+    private int searchNumber;
+    // the positions searched by the split tasks of the search
+    private final LongAdder splitNodes = new LongAdder();
+    // the statistics of the last search
+    private int lastDepth;
+    private long lastNodes;
+    private long lastTime;
+
+    /**
+     * Constructor for the SearchEngine class, with a transposition table of the default size and a single thread
+     */
+    public SearchEngine() {
+        this(new TranspositionTable(DEFAULT_HASH_MEGABYTES), 1);
+    }
+
+    /**
+     * Constructor for the SearchEngine class
+     * @param transpositionTable the transposition table of the engine, it can be shared with other engines
+     * @param threads the number of threads of a search
+     * @throws IllegalArgumentException if the number of threads is smaller than 1
+     */
+    public SearchEngine(TranspositionTable transpositionTable, int threads) {
+        this.transpositionTable = transpositionTable;
+        setThreads(threads);
+    }
+
+    /**
+     * replace the transposition table with an empty table of a given size
+     * @param sizeInMegabytes the memory budget of the table
+     */
+    public void setHashSize(int sizeInMegabytes) {
+        transpositionTable = new TranspositionTable(sizeInMegabytes);
+    }
+
+    /**
+     * set the transposition table of the next searches, like the table of the game an engine from a pool searches
+     * @param transpositionTable the transposition table, it can be shared with other engines
+     */
+    public void setTranspositionTable(TranspositionTable transpositionTable) {
+        this.transpositionTable = transpositionTable;
+    }
+
+    /**
+     * set if the next searches advance the age of the transposition table. the engines that search a table shared
+     * by many games at the same time don't advance it, the owner of the table does
+     * @param agingTable true if every search starts a new age of the table, false otherwise
+     */
+    public void setAgingTable(boolean agingTable) {
+        this.agingTable = agingTable;
+    }
+
+    /**
+     * set the number of threads of the next searches, the calling thread and the helper threads
+     * @param threads the number of threads, 1 for a search on the calling thread only
+     * @throws IllegalArgumentException if the number of threads is smaller than 1
+     */
+    public void setThreads(int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("a search needs at least one thread: " + threads);
+        this.threads = threads;
+        createWorkers();
+    }
+
+    /**
+     * set the way the threads of the next searches work together
+     * @param parallelMode the parallel mode
+     */
+    public void setParallelMode(ParallelMode parallelMode) {
+        this.parallelMode = parallelMode;
+        createWorkers();
+    }
+
+    /**
+     * create the helpers of a Lazy SMP search, or the pool of a young brothers wait search, for the number of threads
+     */
+    private void createWorkers() {
+        shutdownWorkers();
+        if (threads == 1)
+            return;
+        if (parallelMode == ParallelMode.YOUNG_BROTHERS_WAIT) {
+            splitPool = new ForkJoinPool(threads);
+            return;
+        }
+        helpers = new SearchWorker[threads - 1];
+        helperThreads = new Thread[helpers.length];
+        int search;
+        synchronized (helperLock) {
+            search = helperSearch;
+        }
+        for (int i = 0; i < helpers.length; i++) {
+            SearchWorker helper = new SearchWorker(this, i + 1);
+            helpers[i] = helper;
+            helperThreads[i] = new Thread(() -> runHelper(helper, search), "search helper " + (i + 1));
+            helperThreads[i].setDaemon(true);
+            helperThreads[i].start();
+        }
+    }
+
+    /**
+     * end the helper threads and the pool of the young brothers wait search, between the searches
+     */
+    private void shutdownWorkers() {
+        if (splitPool != null)
+            splitPool.shutdown();
+        splitPool = null;
+        synchronized (helperLock) {
+            helpersClosed = true;
+            helperLock.notifyAll();
+        }
+        for (Thread helperThread : helperThreads) {
+            try {
+                helperThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        helpers = new SearchWorker[0];
+        helperThreads = new Thread[0];
+        synchronized (helperLock) {
+            helpersClosed = false;
+        }
+    }
+
+    /**
+     * the loop of a helper thread: wait for the next search, search it until the helpers are stopped, and tell
+     * the calling thread the helper finished. the thread is ended only by the engine, so it ignores interrupts
+     * @param helper the worker of the thread
+     * @param search the number of the last search before the thread was created
+     */
+    private void runHelper(SearchWorker helper, int search) {
+        while (true) {
+            synchronized (helperLock) {
+                while (helperSearch == search && !helpersClosed) {
+                    try {
+                        helperLock.wait();
+                    } catch (InterruptedException ignored) {
+                        // the helpers wait for the engine
+                    }
+                }
+                if (helpersClosed)
+                    return;
+                search = helperSearch;
+            }
+            try {
+                helper.run();
+            } finally {
+                synchronized (helperLock) {
+                    runningHelpers--;
+                    helperLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * end the threads of the engine, the helper threads and the pool of the young brothers wait search.
+     * an engine that is closed searches on the calling thread only
+     */
+    @Override
+    public void close() {
+        threads = 1;
+        shutdownWorkers();
+    }
+
+    /**
+     * set the time of the next searches: an iterative deepening search goes deeper until it is up, and a search
+     * of a given depth is stopped by it too
+     * @param maxTime the time in milliseconds, or NO_TIME_LIMIT
+     */
+    public void setMaxTime(long maxTime) {
+        this.maxTime = maxTime;
+    }
+
+    /**
+     * stop the search that runs now, or the next search if it didn't start yet, from another thread.
+     * an iterative deepening search returns the move of the last depth it finished
+     */
+    public void stop() {
+        stopSignal.set(true);
+    }
+
+    /**
+     * set the stop of the next search, like the stop of the request a search of a pool serves, so the request can
+     * be stopped before the search starts and a late stop of another request doesn't stop it
+     * @param stopSignal the stop of the search, the search stops when it is set
+     */
+    public void setStopSignal(AtomicBoolean stopSignal) {
+        this.stopSignal = stopSignal;
+    }
+
+    /**
+     * using the iterative deepening idea to go to the max calculating depth in the given time
+     * @param board the board we're evaluating using the iterative deepening
+     * @return the best Move, a legal move even if the time was up before the first depth was finished, and null
+     * only if the player has no legal move
+     */
+    public Move IterativeDeepening(Board board)
+    {
+        // the search makes and unmakes the moves on a single position
+        Position position = new Position(board);
+        beginSearch(position);
+        startHelpers(board);
+        int bestMove;
+        int move = MoveEncoding.NO_MOVE;
+        for(int d = 1;;d++)
+        {
+            // put in the best move the last minimax result
+            bestMove = move;
+            // put in move the minimax with the current board, the best move of the last depth is searched first
+            move = searchRoot(position, d, bestMove);
+            // if timeout
+            if(timeout) {
+                finishSearch(d - 1);
+                System.out.println("calculated with depth of " + lastDepth + ", " + getNodesPerSecond() + " nodes/s\n");
+                break;
+            }
+        }
+        // the time was up before the first depth was finished, any legal move is better than no move
+        if (bestMove == MoveEncoding.NO_MOVE)
+            return firstLegalMove(board);
+        // return the move from the one before the last minimax call(the move from the highest depth that didn't cause timeout)
+        return MoveEncoding.decode(board, bestMove);
+    }
+
+    /**
+     * find the first legal move of the player who it's his turn
+     * @param board the board
+     * @return the first legal move, null if the player has no legal move
+     */
+    private static Move firstLegalMove(Board board) {
+        for (Move move : board.getTurn().getLegalMoves()) {
+            if (board.isKingSafeAfter(move))
+                return move;
+        }
+        return null;
+    }
+
+    /**
+     * this function uses Minimax with Alpha-Beta to find the best move for a player in the given board
+     * @param board the board we want to return the best move for
+     * @param depth the depth we want to calculate the board positions
+     * @return the best move by the computer for the given board
+     * @see SearchWorker#MiniMaxAB(Position, int, int)
+     */
+    public Move MiniMaxAB(final Board board, int depth) {
+        Position position = new Position(board);
+        beginSearch(position);
+        startHelpers(board);
+        int bestMove = searchRoot(position, depth, MoveEncoding.NO_MOVE);
+        finishSearch(depth);
+        return bestMove == MoveEncoding.NO_MOVE ? null : MoveEncoding.decode(board, bestMove);
+    }
+
+    /**
+     * this function uses Minimax with Alpha-Beta to find the best move for a player in the given position,
+     * searching a given move first(or the move from the transposition table if there is no such move),
+     * without the Lazy SMP helper threads
+     * @param position the position we want to return the best move for, it is restored when the function returns
+     * @param depth the depth we want to calculate the board positions
+     * @param firstMove the move to search first, like the best move of the last iteration, or NO_MOVE
+     * @return the best encoded move by the computer for the given position
+     * @see SearchWorker#MiniMaxAB(Position, int, int)
+     */
+    public int MiniMaxAB(final Position position, int depth, int firstMove) {
+        beginSearch(position);
+        int bestMove = searchRoot(position, depth, firstMove);
+        finishSearch(depth);
+        return bestMove;
+    }
+
+    /**
+     * this function implement the negaMax(minimax) white alpha-beta pruning and transposition table, and it returns an evaluation of the board with forward looking
+     * without the Lazy SMP helper threads
+     * @param position the position to find the best move in, it is restored when the function returns
+     * @param depth the search depth in the tree
+     * @param alpha the biggest value we saw
+     * @param beta the lowest value we saw
+     * @param distanceFromRoot the distance of the current position from the root position
+     * @return the evaluation of the board
+     * @see SearchWorker#alphaBetaTT(Position, int, double, double, int)
+     */
+    public double alphaBetaTT(Position position, int depth, double alpha, double beta, int distanceFromRoot)
+    {
+        beginSearch(position);
+        double value = inSplitPool(() -> mainWorker.alphaBetaTT(position, depth, alpha, beta, distanceFromRoot));
+        finishSearch(depth);
+        return value;
+    }
+
+    /**
+     * start the clock of a search and reset the main worker and the statistics, the tt is kept between the searches
+     * and the entries of this search get a new age(unless the owner of the table advances it).
+     * the stop of the search is not cleared, it was armed when the last search finished
+     * @param position the position of the search
+     */
+    private void beginSearch(Position position) {
+        if (agingTable)
+            transpositionTable.newSearch();
+        timeout = false;
+        start = System.currentTimeMillis();
+        // the helpers are not in the search until they are started
+        helpersStopped = true;
+        splitNodes.reset();
+        mainWorker.newSearch(position);
+        searchNumber++;
+        splitRoot = isSplitting() ? new Position(position) : null;
+    }
+
+    /**
+     * search the root with the main worker
+     * @param position the position we want to return the best move for, it is restored when the function returns
+     * @param depth the depth we want to calculate the board positions
+     * @param firstMove the move to search first, or NO_MOVE
+     * @return the best encoded move
+     */
+    private int searchRoot(Position position, int depth, int firstMove) {
+        return inSplitPool(() -> mainWorker.MiniMaxAB(position, depth, firstMove));
+    }
+
+    /**
+     * run a search on the calling thread, or in the pool of a young brothers wait search, the split tasks are
+     * forked in the pool of the thread that forks them
+     * @param search the search
+     * @param <T> the type of the result of the search
+     * @return the result of the search
+     */
+    private <T> T inSplitPool(Supplier<T> search) {
+        if (splitPool == null)
+            return search.get();
+        return splitPool.invoke(ForkJoinTask.adapt(search::get));
+    }
+
+    /**
+     * wake the helper threads on copies of the position of a board
+     * @param board the board of the search
+     */
+    private void startHelpers(Board board) {
+        helpersStopped = false;
+        for (SearchWorker helper : helpers)
+            helper.newSearch(new Position(board));
+        if (helpers.length == 0)
+            return;
+        synchronized (helperLock) {
+            runningHelpers = helpers.length;
+            helperSearch++;
+            helperLock.notifyAll();
+        }
+    }
+
+    /**
+     * stop the helper threads, wait for them to finish, keep the statistics of the search and arm the stop of
+     * the next search
+     * @param depth the deepest depth the search finished
+     */
+    private void finishSearch(int depth) {
+        boolean withHelpers = !helpersStopped;
+        helpersStopped = true;
+        stopSignal = new AtomicBoolean();
+        long nodes = mainWorker.getNodes() + splitNodes.sum();
+        // the helpers are stopped, so they finish soon even if the calling thread is interrupted
+        boolean interrupted = false;
+        synchronized (helperLock) {
+            while (runningHelpers > 0) {
+                try {
+                    helperLock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+        if (withHelpers) {
+            for (SearchWorker helper : helpers)
+                nodes += helper.getNodes();
+        }
+        lastDepth = depth;
+        lastNodes = nodes;
+        lastTime = System.currentTimeMillis() - start;
+    }
+
+    /**
+     * check if the time of the search is up, or the search was stopped
+     * @return true if the search must stop, false otherwise
+     */
+    boolean isTimeUp() {
+        if(timeout)
+            return true;
+        if(!stopSignal.get() && System.currentTimeMillis() - start <= maxTime)
+            return false;
+        timeout = true;
+        return true;
+    }
+
+    /**
+     * check if the helpers must stop, when the time is up, the search was stopped or the search of the calling
+     * thread is finished
+     * @return true if the helpers must stop, false otherwise
+     */
+    boolean areHelpersStopped() {
+        return helpersStopped || timeout || stopSignal.get();
+    }
+
+    /**
+     * check if the moves of the nodes are searched in parallel, in a young brothers wait search
+     * @return true if the search splits, false otherwise
+     */
+    boolean isSplitting() {
+        return splitPool != null;
+    }
+
+    /**
+     * get the free split workers of the calling thread of the pool
+     * @return the free workers, a worker is taken for a task and given back after it
+     */
+    ArrayDeque<SearchWorker> getSplitWorkers() {
+        return splitWorkers.get();
+    }
+
+    // getter
+    Position getSplitRoot() {
+        return splitRoot;
+    }
+
+    // getter
+    int getSearchNumber() {
+        return searchNumber;
+    }
+
+    /**
+     * count the positions searched by a split task
+     * @param nodes the positions the task searched
+     */
+    void addSplitNodes(long nodes) {
+        splitNodes.add(nodes);
+    }
+
+    // getter
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    // getter
+    public long getMaxTime() {
+        return maxTime;
+    }
+
+    // getter
+    public int getThreads() {
+        return threads;
+    }
+
+    // getter
+    public ParallelMode getParallelMode() {
+        return parallelMode;
+    }
+
+    // getter
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    // getter
+    public long getLastNodes() {
+        return lastNodes;
+    }
+
+    // getter
+    public long getLastTime() {
+        return lastTime;
+    }
+
+    /**
+     * get the speed of the last search, the positions searched by all its threads in a second
+     * @return the nodes per second
+     */
+    public long getNodesPerSecond() {
+        return lastNodes * 1000 / Math.max(1, lastTime);
+    }
+}
@@ -0,0 +1,589 @@
+package logic.player.AI;
+
+import gui.Result;
+import logic.Color;
+import logic.MoveEncoding;
+import logic.MoveList;
+import logic.Position;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import static logic.player.AI.CachedData.Type.*;
+
+/**
+ * this class is the search of one thread: the Minimax with alpha-beta pruning on its own position, with its own
+ * killer moves, move pickers and node count. the workers of a search share the transposition table of their engine,
+ * the main worker finds the move and the helper workers search the same root to fill the table for it(Lazy SMP).
+ * in the young brothers wait search the worker searches the first move of a node, and the other moves of the node
+ * are searched in parallel by the workers of split tasks, every thread of the pool reuses its workers and their
+ * positions for its tasks
+ * @see SearchEngine
+ * @see <a href="https://www.chessprogramming.org/Lazy_SMP">
+ * @see <a href="https://www.chessprogramming.org/Young_Brothers_Wait_Concept">
+ */
+public class SearchWorker implements Runnable {
+    private static final int MAX_QUIESCENCE = 5000;
+    // bigger then this value is surely mate
+    private static final double BIGGER_IS_MATE = PositionEvaluation.MATE- 1000;
+    // the number of killer moves kept for every distance from the root
+    private static final int KILLERS_PER_PLY = 2;
+    // the deepest iteration of a helper, the rest of the stack is left for the quiescence
+    private static final int MAX_HELPER_DEPTH = Position.MAX_PLY / 2;
+    // the smallest depth of a node whose moves are searched in parallel, the smaller nodes are not worth a task
+    private static final int SPLIT_DEPTH = 3;
+
+    // the engine of the worker, its table and its limits
+    private final SearchEngine engine;
+    // the number of the worker, 0 for the main worker
+    private final int id;
+    // the split point of the move the worker searches in a split task, null for the workers of an engine
+    private SplitPoint splitPoint;
+    private int quiescenceCount = 0;
+    // the quiet moves that caused a cut-off, by the distance from the root
+    private final int[][] killers = new int[Position.MAX_PLY + 1][KILLERS_PER_PLY];
+    // the move pickers of every distance from the root, created on their first use
+    private final MovePicker[] movePickers = new MovePicker[Position.MAX_PLY + 1];
+    // the objects the transposition table entries are read into, by the distance from the root
+    private final CachedData[] cachedData = new CachedData[Position.MAX_PLY + 1];
+    // the position a helper searches, a copy of the root of the main worker.
+    // the position of a split worker is a copy of the root of the search, moved to the node of its task
+    private Position position;
+    // the ply of the root of the search in the position, the moves after it lead to the searched node
+    private int rootPly;
+    // the search the position of a split worker was copied for
+    private int searchNumber = -1;
+    // the positions searched since the start of the search
+    private long nodes;
+    // if the search was stopped, the values found after it are not complete
+    private boolean stopped;
+
+    /**
+     * Constructor for the SearchWorker class
+     * @param engine the engine of the worker
+     * @param id the number of the worker, 0 for the main worker and 1 and up for the helpers
+     */
+    public SearchWorker(SearchEngine engine, int id) {
+        this(engine, id, null);
+    }
+
+    /**
+     * Constructor for the SearchWorker class
+     * @param engine the engine of the worker
+     * @param id the number of the worker, 0 for the main worker and 1 and up for the helpers
+     * @param splitPoint the split point of a split task, or null
+     */
+    private SearchWorker(SearchEngine engine, int id, SplitPoint splitPoint) {
+        this.engine = engine;
+        this.id = id;
+        this.splitPoint = splitPoint;
+    }
+
+    /**
+     * prepare the worker for a new search: forget the killer moves and the node count of the last search
+     * @param position the position a helper searches, the main worker is given its position in every call
+     */
+    void newSearch(Position position) {
+        this.position = position;
+        this.rootPly = position == null ? 0 : position.getPly();
+        this.nodes = 0;
+        this.stopped = false;
+        for (int[] plyKillers : killers)
+            Arrays.fill(plyKillers, MoveEncoding.NO_MOVE);
+    }
+
+    /**
+     * the iterative deepening of a helper, until the search is stopped.
+     * the helpers with an odd number start one depth deeper, so the helpers don't all search the same depths
+     * at the same time and put the entries of the next depth in the table before the main worker needs them
+     */
+    @Override
+    public void run() {
+        int bestMove = MoveEncoding.NO_MOVE;
+        for (int d = 1 + id % 2; d <= MAX_HELPER_DEPTH && !isStopped(); d++)
+            bestMove = MiniMaxAB(position, d, bestMove);
+    }
+
+    /**
+     * check if the search must stop: the main worker stops when the time is up, and the helpers stop with it
+     * or when the main worker finished its search. the worker of a split task stops when the time is up or
+     * its split point was cancelled
+     * @return true if the search must stop, false otherwise
+     */
+    private boolean isStopped() {
+        if (id != 0)
+            stopped = engine.areHelpersStopped();
+        else
+            stopped = engine.isTimeUp() || (splitPoint != null && splitPoint.isCancelled());
+        return stopped;
+    }
+
+    /**
+     * this function uses Minimax with Alpha-Beta to find the best move for a player in the given position,
+     * searching a given move first(or the move from the transposition table if there is no such move)
+     * @param position the position we want to return the best move for, it is restored when the function returns
+     * @param depth the depth we want to calculate the board positions
+     * @param firstMove the move to search first, like the best move of the last iteration, or NO_MOVE
+     * @return the best encoded move by the computer for the given position
+     * @see <a href="https://www.youtube.com/watch?v=l-hh51ncgDI">
+     */
+    public int MiniMaxAB(final Position position, int depth, int firstMove) {
+        int bestMove = MoveEncoding.NO_MOVE;
+        double bestValue = -PositionEvaluation.MATE-1;
+        double currentValue;
+        // sort the moves
+        MoveList sortedMoves = position.generateSearchMoves(position.getMoveBuffer(Position.SEARCH_MOVES));
+        SortMoves.sortMoves(position, sortedMoves);
+        if(firstMove == MoveEncoding.NO_MOVE)
+        {
+            CachedData tte = probe(position, 0);
+            if(tte != null)
+                firstMove = tte.getBestMove();
+        }
+        moveToFront(sortedMoves, firstMove);
+        if(engine.isSplitting())
+            return splitRoot(position, sortedMoves, depth);
+        // for every possible move
+        for (int i = 0; i < sortedMoves.size(); i++) {
+            final int move = sortedMoves.get(i);
+            if (position.makeMove(move)) {
+                // if the move is checkmate-return him
+                if(position.isInCheckMate()) {
+                    position.unmakeMove();
+                    return move;
+                }
+                // call the negaMax recursion
+                currentValue = -1* alphaBetaTT(position,depth - 1, -PositionEvaluation.MATE, PositionEvaluation.MATE, 0);
+                position.unmakeMove();
+                // if we found bigger value
+                if (currentValue > bestValue) {
+                    bestValue = currentValue;
+                    bestMove = move;
+                }
+            }
+        }
+        // the root is searched with the full window, so its value is exact(if the search wasn't stopped)
+        if(bestMove != MoveEncoding.NO_MOVE && !stopped && bestValue < BIGGER_IS_MATE && bestValue > -BIGGER_IS_MATE)
+            engine.transpositionTable.store(HashCode(position), depth, bestValue, EXACT_VALUE, bestMove);
+        return bestMove;
+    }
+
+    /**
+     * move a move to the front of a list, keeping the order of the other moves
+     * @param moves the list of moves
+     * @param move the encoded move, nothing is changed if it is not in the list
+     */
+    private static void moveToFront(MoveList moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                for (int j = i; j > 0; j--)
+                    moves.set(j, moves.get(j - 1));
+                moves.set(0, move);
+                return;
+            }
+        }
+    }
+
+    /**
+     * keep a quiet move that caused a cut-off as the first killer move of its distance from the root
+     * @param move the encoded move
+     * @param distanceFromRoot the distance of the position of the move from the root position
+     */
+    private void storeKiller(int move, int distanceFromRoot) {
+        int[] plyKillers = killers[distanceFromRoot];
+        if (plyKillers[0] == move)
+            return;
+        System.arraycopy(plyKillers, 0, plyKillers, 1, KILLERS_PER_PLY - 1);
+        plyKillers[0] = move;
+    }
+
+    /**
+     * look for the transposition table entry of a position
+     * @param position the position
+     * @param distanceFromRoot the distance of the position from the root position
+     * @return the entry, reused by the next probe on the same distance from the root, or null if not found
+     */
+    private CachedData probe(Position position, int distanceFromRoot) {
+        if (cachedData[distanceFromRoot] == null)
+            cachedData[distanceFromRoot] = new CachedData();
+        return engine.transpositionTable.probe(HashCode(position), cachedData[distanceFromRoot]) ? cachedData[distanceFromRoot] : null;
+    }
+
+    /**
+     * get the reusable move picker of a distance from the root
+     * @param distanceFromRoot the distance from the root position
+     * @return the move picker
+     */
+    private MovePicker getMovePicker(int distanceFromRoot) {
+        if (movePickers[distanceFromRoot] == null)
+            movePickers[distanceFromRoot] = new MovePicker();
+        return movePickers[distanceFromRoot];
+    }
+
+    /**
+     * this function calculate the quiescence needed depth
+     * @param toPosition the position we move to
+     * @param depth the current depth
+     * @return the quiescence new depth
+     */
+    private int calculateQuiescenceDepth(final Position toPosition,
+                                         final int depth) {
+        // if the depth is 1, and we didn't pass the Max quiescence limit, check for non quit moves
+        if(depth == 1 && quiescenceCount < MAX_QUIESCENCE) {
+            int activityMeasure = 0;
+            if (toPosition.isInCheck()) {
+                quiescenceCount++;
+                return 2;
+            }
+        }
+        return depth - 1;
+    }
+
+    /**
+     * this function generate a hash code key for a specific position to put or find in the transposition table
+     * @param position the position to get his key
+     * @return long of the key of the position for the transposition table
+     */
+    private static long HashCode(Position position)
+    {
+        return position.getKey();
+    }
+
+    /**
+     * this function implement the negaMax(minimax) white alpha-beta pruning and transposition table, and it returns an evaluation of the board with forward looking
+     * @param position the position to find the best move in, it is restored when the function returns
+     * @param depth the search depth in the tree
+     * @param alpha the biggest value we saw
+     * @param beta the lowest value we saw
+     * @param distanceFromRoot the distance of the current position from the root position
+     * @see <a href="https://en.wikipedia.org/wiki/Talk:Negamax"></a>
+     * @return the evaluation of the board
+     */
+    public double alphaBetaTT(Position position, int depth, double alpha, double beta, int distanceFromRoot)
+    {
+        // if we run out of time, or the search is stopped
+        if(isStopped())
+            return alpha;
+        nodes++;
+        // a position that repeats in the search is a draw, the same moves can repeat it again
+        if(position.isRepeatedInSearch())
+            return 0;
+        double value;
+        // get the tt
+        CachedData tte = probe(position, distanceFromRoot);
+        // if the board is end position
+        if(position.gameResult() != Result.NOT_FINISHED)
+        {
+            return PositionEvaluation.evaluate(position, distanceFromRoot);
+        }
+        // if the tt found and his calculation depth bigger then the current.
+        // the young brothers wait search uses the tt only for the move order, the values of the tt depend on the
+        // order the threads searched the positions in, and the search must give the same move every time
+        if(tte != null && tte.getDepth() >= depth && !engine.isSplitting())
+        {
+            if(tte.getType() == EXACT_VALUE) // stored value is exact
+                return tte.getScore();
+            if(tte.getType() == LOWERBOUND && tte.getScore() > alpha)
+                alpha = tte.getScore(); // update lowerbound alpha if needed
+            else if(tte.getType() == UPPERBOUND && tte.getScore() < beta)
+                beta = tte.getScore(); // update upperbound beta if needed
+            if(alpha >= beta)
+                return tte.getScore(); // if lowerbound surpasses upperbound
+        }
+        // if the depth is finished
+        if(depth == 0)
+        {
+            quiescenceCount = 0;
+            // evaluate the quiescence
+            value = Quiescence(position, alpha, beta, distanceFromRoot);
+            if(position.getTurn() == Color.White)
+            {
+                // if lower equal than the alpha score
+                if(value <= alpha)
+                    engine.transpositionTable.store(HashCode(position), depth, value, UPPERBOUND, MoveEncoding.NO_MOVE);
+                else
+                    engine.transpositionTable.store(HashCode(position), depth, value, EXACT_VALUE, MoveEncoding.NO_MOVE);
+
+            }
+            else
+            {
+                // if bigger equal then the biggest score
+                if(value > alpha)
+                    engine.transpositionTable.store(HashCode(position), depth, value, LOWERBOUND, MoveEncoding.NO_MOVE);
+                else
+                    engine.transpositionTable.store(HashCode(position), depth, value, EXACT_VALUE, MoveEncoding.NO_MOVE);
+            }
+            return value;
+        }
+        double best = -PositionEvaluation.MATE-1;
+        int bestMove = MoveEncoding.NO_MOVE;
+        // the moves come in stages, the move from the tt first
+        MovePicker picker = getMovePicker(distanceFromRoot);
+        picker.init(position, tte != null ? tte.getBestMove() : MoveEncoding.NO_MOVE, killers[distanceFromRoot]);
+        // for every move
+        for(int move = picker.next(); move != MoveEncoding.NO_MOVE; move = picker.next())
+        {
+            // make the move
+            if (position.makeMove(move)) {
+                // call the recursion
+                value = -alphaBetaTT(position, depth - 1,
+                        -beta, -alpha, distanceFromRoot + 1);
+                position.unmakeMove();
+                if (value > best) {
+                    best = value;
+                    bestMove = move;
+                }
+                if (best > alpha)
+                    alpha = best;
+                // cut-off
+                if (best >= beta) {
+                    if (!MoveEncoding.isAttack(move) && !MoveEncoding.isPawnPromotion(move))
+                        storeKiller(move, distanceFromRoot);
+                    break;
+                }
+                // the young brothers wait for the first move, then they are searched in parallel
+                if (depth >= SPLIT_DEPTH && engine.isSplitting()) {
+                    SplitPoint split = new SplitPoint(splitPoint, alpha, beta, best, bestMove, 0);
+                    int[] path = pathTo(position);
+                    List<SplitTask> tasks = new ArrayList<>();
+                    for (int sibling = picker.next(); sibling != MoveEncoding.NO_MOVE; sibling = picker.next())
+                        tasks.add(new SplitTask(this, split, path, sibling, tasks.size() + 1, depth - 1, distanceFromRoot + 1));
+                    if (isStopped())
+                        return best;
+                    ForkJoinTask.invokeAll(tasks);
+                    best = split.getBest();
+                    bestMove = split.getBestMove();
+                    if (best > alpha)
+                        alpha = best;
+                    if (split.isCutoff() && split.isBestMoveQuiet())
+                        storeKiller(bestMove, distanceFromRoot);
+                    // a task that was stopped by the time didn't search all its moves
+                    isStopped();
+                    break;
+                }
+            }
+
+        }
+        // the value of a stopped search is not complete, it is not kept in the table the other workers use
+        if(stopped)
+            return best;
+        // if white, and the score ss not for mate(we don't store mates positions)
+        if(position.getTurn() == Color.White && best < BIGGER_IS_MATE && best > -BIGGER_IS_MATE)
+        {
+            // if lower than the biggest score
+            if(best <= alpha)
+                engine.transpositionTable.store(HashCode(position), depth, best, UPPERBOUND, bestMove);
+            else
+                engine.transpositionTable.store(HashCode(position), depth, best, EXACT_VALUE, bestMove);
+
+        }
+        // if black, and the score ss not for mate(we don't store mates positions)
+        else if(best < BIGGER_IS_MATE && best > -BIGGER_IS_MATE)
+        {
+            if(best > alpha)
+                engine.transpositionTable.store(HashCode(position), depth, best, LOWERBOUND, bestMove);
+            else
+                engine.transpositionTable.store(HashCode(position), depth, best, EXACT_VALUE, bestMove);
+        }
+        return best;
+    }
+
+    /**
+     * calculate the none quite moves when we got to the end of the depth
+     * @param position the position we are in, it is restored when the function returns
+     * @param alpha the alpha index
+     * @param beta the beta index
+     * @param distanceFromRoot the distance of the current position from the root position
+     * @return the evaluation for the board after going through all the none quite moves
+     */
+    private double Quiescence(Position position, double alpha, double beta , int distanceFromRoot) {
+        nodes++;
+        // evaluate the position
+        double stand_pat = PositionEvaluation.evaluate(position, distanceFromRoot);
+        // alpha is max
+        alpha = Math.max(alpha, stand_pat);
+        if(alpha >= beta)
+        {
+            return stand_pat;
+        }
+        // only the attacks and the pawn promotions are generated
+        MovePicker picker = getMovePicker(distanceFromRoot);
+        picker.initCaptures(position);
+        for(int move = picker.next(); move != MoveEncoding.NO_MOVE; move = picker.next())  {
+            if (position.makeMove(move))
+            {
+                // call the recursion again
+                double score = -Quiescence( position, -beta, -alpha, distanceFromRoot + 1 );
+                position.unmakeMove();
+
+                stand_pat = Math.max(stand_pat, score);
+
+                alpha = Math.max(alpha, stand_pat);
+                // cut-off
+                if(alpha >= beta)
+                    break;
+            }
+        }
+        return stand_pat;
+    }
+
+    /**
+     * search the moves of the root in parallel: the moves that mate are looked for in the order of the moves,
+     * then the first move is searched, and the other moves are searched in parallel with the value of the best
+     * move that was found when they start
+     * @param position the root position, it is restored when the function returns
+     * @param sortedMoves the moves of the root, in the order of the serial search
+     * @param depth the depth we want to calculate the board positions
+     * @return the best encoded move, the first of the best moves like in the serial search
+     */
+    private int splitRoot(Position position, MoveList sortedMoves, int depth) {
+        int first = -1;
+        for (int i = 0; i < sortedMoves.size(); i++) {
+            final int move = sortedMoves.get(i);
+            if (position.makeMove(move)) {
+                // if the move is checkmate-return him
+                boolean isCheckMate = position.isInCheckMate();
+                position.unmakeMove();
+                if (isCheckMate)
+                    return move;
+                if (first < 0)
+                    first = i;
+            }
+        }
+        if (first < 0)
+            return MoveEncoding.NO_MOVE;
+        position.makeMove(sortedMoves.get(first));
+        double value = -1* alphaBetaTT(position, depth - 1, -PositionEvaluation.MATE, PositionEvaluation.MATE, 0);
+        position.unmakeMove();
+        SplitPoint split = new SplitPoint(null, value, PositionEvaluation.MATE, value, sortedMoves.get(first), first);
+        int[] path = pathTo(position);
+        List<SplitTask> tasks = new ArrayList<>();
+        for (int i = first + 1; i < sortedMoves.size(); i++)
+            tasks.add(new SplitTask(this, split, path, sortedMoves.get(i), i, depth - 1, 0));
+        if (!isStopped())
+            ForkJoinTask.invokeAll(tasks);
+        double bestValue = split.getBest();
+        int bestMove = split.getBestMove();
+        // the root value is exact(if the search wasn't stopped)
+        if(!isStopped() && bestValue < BIGGER_IS_MATE && bestValue > -BIGGER_IS_MATE)
+            engine.transpositionTable.store(HashCode(position), depth, bestValue, EXACT_VALUE, bestMove);
+        return bestMove;
+    }
+
+    /**
+     * get the moves from the root of the search to the position, the split tasks make them on their own positions
+     * @param position the searched position
+     * @return the encoded moves, in the order they were made
+     */
+    private int[] pathTo(Position position) {
+        int[] path = new int[position.getPly() - rootPly];
+        for (int i = 0; i < path.length; i++)
+            path[i] = position.getMove(rootPly + i);
+        return path;
+    }
+
+    /**
+     * prepare a split worker for a task: its position is moved to the node of the split point by unmaking the moves
+     * of its last node until the first move that is not on the path, and making the rest of the path, and it gets
+     * the killer moves of the worker that split the node for the plies of the task
+     * @param splitPoint the split point of the task
+     * @param path the moves from the root of the search to the node of the split point
+     * @param parent the worker that split the node
+     * @param depth the depth to search the position after the move of the task
+     * @param distanceFromRoot the distance of the position after the move from the root position
+     */
+    private void startTask(SplitPoint splitPoint, int[] path, SearchWorker parent, int depth, int distanceFromRoot) {
+        if (searchNumber != engine.getSearchNumber()) {
+            position = new Position(engine.getSplitRoot());
+            searchNumber = engine.getSearchNumber();
+        }
+        this.splitPoint = splitPoint;
+        this.nodes = 0;
+        this.stopped = false;
+        int common = 0;
+        while (common < position.getPly() && common < path.length && position.getMove(common) == path[common])
+            common++;
+        while (position.getPly() > common)
+            position.unmakeMove();
+        for (int i = common; i < path.length; i++)
+            position.makeMove(path[i]);
+        for (int d = distanceFromRoot; d <= Math.min(Position.MAX_PLY, distanceFromRoot + depth); d++)
+            System.arraycopy(parent.killers[d], 0, killers[d], 0, KILLERS_PER_PLY);
+    }
+
+    /**
+     * this class is the search of a move of a split point, on a thread of the pool of the engine,
+     * by a free worker of the thread on its own position
+     */
+    private static class SplitTask extends RecursiveAction {
+        // the tasks are never serialized, fork-join tasks are serializable only for the exceptions they throw
+        private static final long serialVersionUID = 1L;
+
+        // the worker that split the node
+        private final SearchWorker parent;
+        private final SplitPoint splitPoint;
+        // the moves from the root of the search to the node, shared by the tasks of the node
+        private final int[] path;
+        private final int move;
+        // the order of the move in the moves of the split point
+        private final int index;
+        private final int depth;
+        private final int distanceFromRoot;
+
+        /**
+         * Constructor for the SplitTask class
+         * @param parent the worker that split the node
+         * @param splitPoint the split point of the move
+         * @param path the moves from the root of the search to the node of the split point
+         * @param move the encoded move to search
+         * @param index the order of the move in the moves of the split point
+         * @param depth the depth to search the position after the move
+         * @param distanceFromRoot the distance of the position after the move from the root position
+         */
+        SplitTask(SearchWorker parent, SplitPoint splitPoint, int[] path, int move, int index, int depth,
+                  int distanceFromRoot) {
+            this.parent = parent;
+            this.splitPoint = splitPoint;
+            this.path = path;
+            this.move = move;
+            this.index = index;
+            this.depth = depth;
+            this.distanceFromRoot = distanceFromRoot;
+        }
+
+        @Override
+        protected void compute() {
+            if (splitPoint.isCancelled())
+                return;
+            SearchEngine engine = parent.engine;
+            ArrayDeque<SearchWorker> freeWorkers = engine.getSplitWorkers();
+            SearchWorker worker = freeWorkers.poll();
+            if (worker == null)
+                worker = new SearchWorker(engine, 0, null);
+            try {
+                worker.startTask(splitPoint, path, parent, depth, distanceFromRoot);
+                Position position = worker.position;
+                if (!position.makeMove(move))
+                    return;
+                // the window is a bit under alpha, so a move as good as the best move gets its exact value
+                double alpha = Math.nextDown(splitPoint.getAlpha());
+                double value = -worker.alphaBetaTT(position, depth, -splitPoint.getBeta(), -alpha, distanceFromRoot);
+                position.unmakeMove();
+                engine.addSplitNodes(worker.getNodes());
+                if (!worker.stopped)
+                    splitPoint.update(value, move, index);
+            } finally {
+                freeWorkers.push(worker);
+            }
+        }
+    }
+
+    // getter
+    public long getNodes() {
+        return nodes;
+    }
+}
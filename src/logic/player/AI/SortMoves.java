@@ -1,67 +1,133 @@
 package logic.player.AI;
 
-import com.google.common.collect.ComparisonChain;
-import logic.Move;
-import logic.Pieces.King;
-import logic.Pieces.Piece;
+import logic.BitBoard;
+import logic.MoveEncoding;
+import logic.MoveList;
+import logic.Position;
 
-import java.util.Comparator;
 /**
- * this class implements the Comparator interface and used for compare between moves
+ * this class contains static methods used for compare between encoded moves
  * to make a Move ordering strategy
  */
-public class SortMoves implements Comparator<Move> {
+public class SortMoves {
+
+    /**
+     * sort the moves by their possibility to be good, the moves must be of the player who it's his turn
+     * @param position the position the moves are made in
+     * @param moves the list of moves we want to sort
+     */
+    public static void sortMoves(Position position, MoveList moves) {
+        // insertion sort, the lists are short
+        for (int i = 1; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int j = i - 1;
+            while (j >= 0 && compare(position, moves.get(j), move) > 0) {
+                moves.set(j + 1, moves.get(j));
+                j--;
+            }
+            moves.set(j + 1, move);
+        }
+    }
+
     /**
      * this function is used to sort the list of moves by their possibility to be good
      * the function compare between the first move and the second
+     * @param position the position the moves are made in
      * @param m1 first move
      * @param m2 second move
      * @return the int value of the compartment
      */
-    @Override
-    public int compare(Move m1, Move m2) {
-        return ComparisonChain.start()
-                .compareTrueFirst(m1.isPawnPromotion(), m2.isPawnPromotion())
-                .compareTrueFirst(m1.isAttack(), m2.isAttack())
-                .compare(lastWithLeast(m2), lastWithLeast(m1))
-                .compare(mvvlva(m2), mvvlva(m1))
-                .compareTrueFirst(m1.isAttack() && ((Move.AttackMove)m1).getAttackedPiece().value >= m1.getPieceMoved().value,
-                        m2.isAttack() && ((Move.AttackMove)m2).getAttackedPiece().value >= m2.getPieceMoved().value)
-                .compareTrueFirst(m1.isCastle(), m2.isCastle())
-                .compare(m2.getPieceMoved().value, m1.getPieceMoved().value)
-                .compareTrueFirst(m2.getPieceMoved().getPosition() < m2.getCoordinateMovedTo(),
-                        m1.getPieceMoved().getPosition() < m1.getCoordinateMovedTo())
-                .result();
+    public static int compare(Position position, int m1, int m2) {
+        int result = compareTrueFirst(MoveEncoding.isPawnPromotion(m1), MoveEncoding.isPawnPromotion(m2));
+        if (result != 0)
+            return result;
+        result = compareTrueFirst(MoveEncoding.isAttack(m1), MoveEncoding.isAttack(m2));
+        if (result != 0)
+            return result;
+        result = Double.compare(lastWithLeast(position, m2), lastWithLeast(position, m1));
+        if (result != 0)
+            return result;
+        result = Double.compare(mvvlva(position, m2), mvvlva(position, m1));
+        if (result != 0)
+            return result;
+        result = compareTrueFirst(isGoodAttack(position, m1), isGoodAttack(position, m2));
+        if (result != 0)
+            return result;
+        result = compareTrueFirst(MoveEncoding.isCastle(m1), MoveEncoding.isCastle(m2));
+        if (result != 0)
+            return result;
+        result = Double.compare(movedValue(position, m2), movedValue(position, m1));
+        if (result != 0)
+            return result;
+        return compareTrueFirst(MoveEncoding.getFrom(m2) < MoveEncoding.getTo(m2),
+                MoveEncoding.getFrom(m1) < MoveEncoding.getTo(m1));
     }
 
     /**
      * implements the most valuable victim-least valuable attacker(mvvlva) rating
+     * @param position the position the move is made in
      * @param move the move to give him mvvlva rating
      * @return rating of the mvvlva
      */
-    public static double mvvlva(final Move move) {
-        final Piece movingPiece = move.getPieceMoved();
-        if(move.isAttack()) {
-            final Piece attackedPiece = ((Move.AttackMove)move).getAttackedPiece();
-            return attackedPiece.value - movingPiece.value;
-        }
+    public static double mvvlva(Position position, int move) {
+        if (MoveEncoding.isAttack(move))
+            return attackedValue(position, move) - movedValue(position, move);
         return 0;
     }
 
     /**
      * implements the capture of the last played piece by the least valuable piece
+     * @param position the position the move is made in
      * @param move the move to examine
      * @return the move rating
      */
-    public static double lastWithLeast(Move move)
-    {
-        Move lastMove = move.getBoard().getTransitionMove();
-        if(move.isAttack() && ((Move.AttackMove)move).getAttackedPiece().equals(lastMove.getPieceMoved()))
-        {
-            return Double.POSITIVE_INFINITY-move.getPieceMoved().value;
+    public static double lastWithLeast(Position position, int move) {
+        int lastMove = position.getLastMove();
+        // the attacked piece is the last moved piece as it was before his move
+        if (MoveEncoding.isAttack(move) && lastMove != MoveEncoding.NO_MOVE
+                && MoveEncoding.getTo(move) == MoveEncoding.getFrom(lastMove)) {
+            return Double.POSITIVE_INFINITY - movedValue(position, move);
         }
         return 0;
+    }
 
+    /**
+     * check if the move is an attack on a piece that is not less valuable than the attacker
+     * @param position the position the move is made in
+     * @param move the move to examine
+     * @return true if a good attack, false otherwise
+     */
+    private static boolean isGoodAttack(Position position, int move) {
+        return MoveEncoding.isAttack(move) && attackedValue(position, move) >= movedValue(position, move);
     }
-}
 
+    /**
+     * get the value of the piece that is moved
+     * @param position the position the move is made in
+     * @param move the move
+     * @return the value of the moved piece
+     */
+    public static double movedValue(Position position, int move) {
+        return Position.PIECE_VALUES[BitBoard.kindOf(position.getPieceAt(MoveEncoding.getFrom(move)))];
+    }
+
+    /**
+     * get the value of the piece that is attacked
+     * @param position the position the move is made in
+     * @param move the attack move
+     * @return the value of the attacked piece
+     */
+    public static double attackedValue(Position position, int move) {
+        return Position.PIECE_VALUES[MoveEncoding.getCaptured(move)];
+    }
+
+    /**
+     * compare two booleans so that true comes first
+     * @param first the first boolean
+     * @param second the second boolean
+     * @return negative if only the first is true, positive if only the second is true, 0 otherwise
+     */
+    private static int compareTrueFirst(boolean first, boolean second) {
+        return Boolean.compare(second, first);
+    }
+}
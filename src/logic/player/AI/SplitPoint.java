@@ -0,0 +1,102 @@
+package logic.player.AI;
+
+import logic.MoveEncoding;
+
+/**
+ * this class represent a node of the young brothers wait search whose moves are searched in parallel: the bounds
+ * of the node, the best value and move its searched moves found, and if a move caused a cut-off, so the other
+ * moves of the node and the nodes under it are cancelled
+ * @see SearchWorker
+ */
+class SplitPoint {
+    // the split point above this one, its cut-off cancels this one too
+    private final SplitPoint parent;
+    private final double beta;
+    private double alpha;
+    private double best;
+    private int bestMove;
+    // the order of the best move in the moves of the node, the first of the best moves is kept
+    private int bestIndex;
+    private volatile boolean cutoff;
+
+    /**
+     * Constructor for the SplitPoint class, after the first move of the node was searched
+     * @param parent the split point above this one, or null
+     * @param alpha the alpha of the node after the first move
+     * @param beta the beta of the node
+     * @param best the value of the first move
+     * @param bestMove the first encoded move
+     * @param bestIndex the order of the first move in the moves of the node
+     */
+    SplitPoint(SplitPoint parent, double alpha, double beta, double best, int bestMove, int bestIndex) {
+        this.parent = parent;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.best = best;
+        this.bestMove = bestMove;
+        this.bestIndex = bestIndex;
+    }
+
+    /**
+     * keep the value of a searched move if it is the best, a value as good as the best is kept if its move is
+     * before the best move(like in the serial search), a value that is not smaller than beta is a cut-off
+     * @param value the value of the move
+     * @param move the encoded move
+     * @param index the order of the move in the moves of the node
+     */
+    synchronized void update(double value, int move, int index) {
+        if (value > best || (value == best && index < bestIndex)) {
+            best = value;
+            bestMove = move;
+            bestIndex = index;
+        }
+        if (best > alpha)
+            alpha = best;
+        if (best >= beta)
+            cutoff = true;
+    }
+
+    /**
+     * check if the node was cancelled, by a cut-off in it or in a node above it
+     * @return true if the node was cancelled, false otherwise
+     */
+    boolean isCancelled() {
+        for (SplitPoint splitPoint = this; splitPoint != null; splitPoint = splitPoint.parent)
+            if (splitPoint.cutoff)
+                return true;
+        return false;
+    }
+
+    // getter
+    synchronized double getAlpha() {
+        return alpha;
+    }
+
+    // getter
+    double getBeta() {
+        return beta;
+    }
+
+    // getter
+    synchronized double getBest() {
+        return best;
+    }
+
+    // getter
+    synchronized int getBestMove() {
+        return bestMove;
+    }
+
+    // getter
+    boolean isCutoff() {
+        return cutoff;
+    }
+
+    /**
+     * check if the best move is a quiet move, to keep it as a killer move after a cut-off
+     * @return true if the best move is not an attack or a pawn promotion, false otherwise
+     */
+    synchronized boolean isBestMoveQuiet() {
+        return !MoveEncoding.isAttack(bestMove) && !MoveEncoding.isPawnPromotion(bestMove);
+    }
+}
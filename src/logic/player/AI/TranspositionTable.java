@@ -0,0 +1,187 @@
+package logic.player.AI;
+
+import logic.MoveEncoding;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * this class is a fixed size transposition table of packed entries, that threads can share without locks.
+ * the table is a power of two buckets of 4 entries(a cache line), an entry is two words: the data word, and the key
+ * of the position xor the data word.
+ * the data word has the best move, the depth, the bound type, the age of the entry and the score(a fixed point
+ * number of 1/1024 pawns). a word is written atomically, and an entry that was torn by two writes at the same time
+ * doesn't give back the key of its position, so it is ignored.
+ * the table is kept between the searches of a game: every search has a new age, the entries that are found get
+ * the age of the search, and the entries of old searches are replaced first
+ * @see CachedData
+ * @see <a href="https://www.chessprogramming.org/Shared_Hash_Table#Lockless">
+ */
+public class TranspositionTable {
+    // the entries of a bucket, and the words of an entry
+    private static final int BUCKET_ENTRIES = 4;
+    private static final int ENTRY_WORDS = 2;
+    private static final int BUCKET_WORDS = BUCKET_ENTRIES * ENTRY_WORDS;
+    private static final int BUCKET_BYTES = BUCKET_WORDS * Long.BYTES;
+
+    // the fields of the data word, the score takes the top bits and keeps its sign
+    private static final int MOVE_BITS = 21;
+    private static final int DEPTH_SHIFT = MOVE_BITS;
+    private static final int DEPTH_BITS = 8;
+    private static final int BOUND_SHIFT = DEPTH_SHIFT + DEPTH_BITS;
+    private static final int BOUND_BITS = 2;
+    private static final int AGE_SHIFT = BOUND_SHIFT + BOUND_BITS;
+    private static final int AGE_BITS = 8;
+    private static final int SCORE_SHIFT = AGE_SHIFT + AGE_BITS;
+    private static final long MOVE_MASK = (1L << MOVE_BITS) - 1;
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+    private static final long BOUND_MASK = (1L << BOUND_BITS) - 1;
+    private static final long AGE_MASK = (1L << AGE_BITS) - 1;
+    // the units of a pawn in the stored score, the scores of the mates(10001 pawns) fit in the 25 bits of the score
+    private static final double SCORE_UNITS = 1024;
+    // the bound of an empty entry, the bound types are stored as their ordinal + 1
+    private static final int NO_BOUND = 0;
+    private static final CachedData.Type[] TYPES = CachedData.Type.values();
+    // the depth an entry loses for every search it wasn't used in, when choosing the entry to replace
+    private static final int AGE_DEPTH_PENALTY = 8;
+    // the most buckets an int index of the words can reach
+    private static final long MAX_BUCKETS = 1L << 27;
+
+    private final AtomicLongArray entries;
+    private final int bucketMask;
+    // the age of the entries that are stored now, advanced by the thread that starts the search, or by the owner of
+    // a table that is shared by the searches of many games
+    private volatile int age;
+
+    /**
+     * Constructor for the TranspositionTable class
+     * @param sizeInMegabytes the memory budget of the table, rounded down to a power of two buckets
+     */
+    public TranspositionTable(int sizeInMegabytes) {
+        long bucketCount = Math.max(1, ((long) sizeInMegabytes << 20) / BUCKET_BYTES);
+        // the index of a bucket is taken from the low bits of the key
+        int buckets = (int) Long.highestOneBit(Math.min(bucketCount, MAX_BUCKETS));
+        this.entries = new AtomicLongArray(buckets * BUCKET_WORDS);
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * look for the entry of a position
+     * @param key the zobrist key of the position
+     * @param data the object to put the entry in, it is reused by the caller
+     * @return true if the entry was found and put in the data, false otherwise
+     */
+    public boolean probe(long key, CachedData data) {
+        int bucket = bucketOf(key);
+        for (int i = bucket; i < bucket + BUCKET_WORDS; i += ENTRY_WORDS) {
+            long info = entries.getOpaque(i);
+            int bound = (int) ((info >>> BOUND_SHIFT) & BOUND_MASK);
+            if (bound != NO_BOUND && (info ^ entries.getOpaque(i + 1)) == key) {
+                // an entry of an old search that is used again is kept like an entry of this search
+                if (((info >>> AGE_SHIFT) & AGE_MASK) != age)
+                    write(i, key, withAge(info));
+                data.setDepth((int) ((info >>> DEPTH_SHIFT) & DEPTH_MASK));
+                data.setScore((info >> SCORE_SHIFT) / SCORE_UNITS);
+                data.setType(TYPES[bound - 1]);
+                data.setBestMove((int) (info & MOVE_MASK));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * store the entry of a position, replacing the entry of the same position, or an empty entry, or the
+     * entry of its bucket that is the least worth keeping: the shallowest, where every search since the entry
+     * was used counts as less depth. the entry of the same position is kept if it is from this search and it is
+     * deeper, or it is exact and the new value is a bound of the same depth(then only its move is replaced), and
+     * its move is kept if there is no new move.
+     * the score is rounded to the units of the table, a bound is rounded to its safe side
+     * @param key the zobrist key of the position
+     * @param depth the depth the position was searched to
+     * @param score the score of the position
+     * @param type the bound type of the score
+     * @param bestMove the best encoded move, or NO_MOVE
+     */
+    public void store(long key, int depth, double score, CachedData.Type type, int bestMove) {
+        int bucket = bucketOf(key);
+        int replaced = bucket;
+        int replacedWorth = Integer.MAX_VALUE;
+        for (int i = bucket; i < bucket + BUCKET_WORDS; i += ENTRY_WORDS) {
+            long info = entries.getOpaque(i);
+            int bound = (int) ((info >>> BOUND_SHIFT) & BOUND_MASK);
+            if (bound == NO_BOUND) {
+                replaced = i;
+                break;
+            }
+            int entryDepth = (int) ((info >>> DEPTH_SHIFT) & DEPTH_MASK);
+            if ((info ^ entries.getOpaque(i + 1)) == key) {
+                // a deeper entry of this search is worth more than a value of a shallower search of the position,
+                // and an exact entry more than a bound of the same depth. only the move of the entry is replaced
+                if (((info >>> AGE_SHIFT) & AGE_MASK) == age && (depth < entryDepth || (depth == entryDepth
+                        && type != CachedData.Type.EXACT_VALUE && TYPES[bound - 1] == CachedData.Type.EXACT_VALUE))) {
+                    if (bestMove != MoveEncoding.NO_MOVE && bestMove != (info & MOVE_MASK))
+                        write(i, key, (info & ~MOVE_MASK) | (bestMove & MOVE_MASK));
+                    return;
+                }
+                // a store without a move(like the value of the quiescence) keeps the move of the entry
+                if (bestMove == MoveEncoding.NO_MOVE)
+                    bestMove = (int) (info & MOVE_MASK);
+                replaced = i;
+                break;
+            }
+            int searchesAgo = (int) ((age - (info >>> AGE_SHIFT)) & AGE_MASK);
+            int worth = entryDepth - AGE_DEPTH_PENALTY * searchesAgo;
+            if (worth < replacedWorth) {
+                replaced = i;
+                replacedWorth = worth;
+            }
+        }
+        double units = score * SCORE_UNITS;
+        // a lower bound is rounded down and an upper bound up, so the stored bound is still a bound of the score
+        long scoreUnits = (long) (type == CachedData.Type.LOWERBOUND ? Math.floor(units)
+                : type == CachedData.Type.UPPERBOUND ? Math.ceil(units) : Math.rint(units));
+        long info = (scoreUnits << SCORE_SHIFT)
+                | ((long) age << AGE_SHIFT)
+                | ((long) (type.ordinal() + 1) << BOUND_SHIFT)
+                | ((long) Math.min(depth, (int) DEPTH_MASK) << DEPTH_SHIFT)
+                | (bestMove & MOVE_MASK);
+        write(replaced, key, info);
+    }
+
+    /**
+     * start a new search, the entries that are stored from now on have a new age. the age of a table that is shared
+     * by searches that run at the same time is advanced by one owner, or the entries of the other searches look old
+     */
+    public synchronized void newSearch() {
+        age = (int) ((age + 1) & AGE_MASK);
+    }
+
+    /**
+     * remove all the entries of the table
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++)
+            entries.setOpaque(i, 0);
+    }
+
+    /**
+     * write both words of an entry, the data word and the key xor the data word
+     * @param index the index of the first word of the entry
+     * @param key the zobrist key of the position
+     * @param info the data word
+     */
+    private void write(int index, long key, long info) {
+        entries.setOpaque(index, info);
+        entries.setOpaque(index + 1, key ^ info);
+    }
+
+    // the data word with the age of the current search
+    private long withAge(long info) {
+        return (info & ~(AGE_MASK << AGE_SHIFT)) | ((long) age << AGE_SHIFT);
+    }
+
+    // the index of the first word of the bucket of a key
+    private int bucketOf(long key) {
+        return ((int) key & bucketMask) * BUCKET_WORDS;
+    }
+}
@@ -1,8 +1,10 @@
 package logic.player.AI;
 
+import logic.BitBoard;
 import logic.Board;
 import logic.Color;
 import logic.Pieces.*;
+import logic.Position;
 
 import java.util.Random;
 
@@ -10,41 +12,6 @@ import java.util.Random;
 public class Zobrist {
     private static final long[][] ZobristTable = initTable();
 
-    /**
-     * get the index in the array for the piece
-     * @param piece the piece to get her index
-     * @return the piece index
-     */
-    private static int indexOf(Piece piece)
-    {
-        if (piece.getClass() == Pawn.class && piece.getColor() == Color.White)
-            return 0;
-        if (piece.getClass() == Knight.class && piece.getColor() == Color.White)
-            return 1;
-        if (piece.getClass() == Bishop.class && piece.getColor() == Color.White)
-            return 2;
-        if (piece.getClass() == Rook.class && piece.getColor() == Color.White)
-            return 3;
-        if (piece.getClass() == Queen.class && piece.getColor() == Color.White)
-            return 4;
-        if (piece.getClass() == King.class && piece.getColor() == Color.White)
-            return 5;
-        if (piece.getClass() == Pawn.class  && piece.getColor() == Color.Black)
-            return 6;
-        if (piece.getClass() == Knight.class  && piece.getColor() == Color.Black)
-            return 7;
-        if (piece.getClass() == Bishop.class  && piece.getColor() == Color.Black)
-            return 8;
-        if (piece.getClass() == Rook.class  && piece.getColor() == Color.Black)
-            return 9;
-        if (piece.getClass() == Queen.class  && piece.getColor() == Color.Black)
-            return 10;
-        if (piece.getClass() == King.class  && piece.getColor() == Color.Black)
-            return 11;
-        else
-            return -1;
-    }
-
     /**
      * initializing the array for the troops codes
      * @return the array of codes
@@ -66,34 +33,30 @@ public class Zobrist {
     public static final long blackKingMoved = random.nextLong();
     public static final long blackQueenSideRookMoved = random.nextLong();
     public static final long blackKingSideRookMoved = random.nextLong();
+    // the engine has no en passant yet, these keys are for the column of the en passant square when it will
     public static final long[] passantColumn =
             {0x70cc73d90bc26e24L, 0xe21a6b35df0c3ad7L, 0x3a93d8b2806962L, 0x1c99ded33cb890a1L, 0xcf3145de0add4289L, 0xd0e4427a5514fb72L, 0x77c621cc9fb3a483L, 0x67a34dac4356550bL,};
     public static final long whiteMove = random.nextLong();
 
+    /**
+     * calculate the key of a board, the board keeps it from his construction
+     * @param board the board to get his key
+     * @return the key of the board
+     * @see Board#getKey()
+     */
     public static long getKeyForBoard(Board board) {
         long key = 0;
 
         for (int loc = 0; loc < 64; loc++) {
-            if(board.getPieceAtCoordinate(loc) != null)
-                key ^= ZobristTable[loc][indexOf(board.getPieceAtCoordinate(loc))];
+            Piece piece = board.getPieceAtCoordinate(loc);
+            if(piece != null) {
+                int pieceIndex = BitBoard.pieceIndex(piece);
+                key ^= ZobristTable[loc][pieceIndex];
+                if (board.isFirstMove(loc))
+                    key ^= castlingKey(pieceIndex, loc);
+            }
         }
 
-        if (findCoordinatePieceFirstMove(board, 60, "King"))
-            key ^= whiteKingMoved;
-        if (findCoordinatePieceFirstMove(board, 63, "Rook"))
-            key ^= whiteKingSideRookMoved;
-        if (findCoordinatePieceFirstMove(board, 56, "Rook"))
-            key ^= whiteQueenSideRookMoved;
-        if (findCoordinatePieceFirstMove(board, 4, "King"))
-            key ^= blackKingMoved;
-        if (findCoordinatePieceFirstMove(board, 7, "Rook"))
-            key ^= blackKingSideRookMoved;
-        if (findCoordinatePieceFirstMove(board, 0, "Rook"))
-            key ^= blackQueenSideRookMoved;
-
-        //if (b.enPassantLoc != -1)
-        //     key ^= passantColumn[BBUtils.getLocCol(b.enPassantLoc)];
-
         if (board.getTurn().getColor() == Color.White)
             key ^= whiteMove;
 
@@ -101,16 +64,56 @@ public class Zobrist {
     }
 
     /**
-     * find if the piece did her first move or not
-     * @param board the board we are in
-     * @param pieceCoordinate the piece place
-     * @param pieceClass the piece Class(pawn, rook, bishop and more.)
-     * @return true if the piece is on her first move, false if not
+     * get the key of a piece on a coordinate
+     * @param pieceIndex the bitboard index of the piece
+     * @param coordinate the coordinate of the piece
+     * @return the key to xor with the position key
      */
-    private static boolean findCoordinatePieceFirstMove(Board board, int pieceCoordinate, String pieceClass)
-    {
-        Piece piece = board.getPieceAtCoordinate(pieceCoordinate);
-        return piece != null && piece.getClass().getSimpleName().equals(pieceClass) && piece.isFirstMove();
+    public static long pieceKey(int pieceIndex, int coordinate) {
+        return ZobristTable[coordinate][pieceIndex];
+    }
+
+    /**
+     * get the castling key of a piece that didn't move yet, the kings and the rooks on their first coordinates
+     * keep the castling rights
+     * @param pieceIndex the bitboard index of the piece
+     * @param coordinate the coordinate of the piece
+     * @return the key to xor with the position key, 0 if the piece doesn't keep a castling right
+     */
+    public static long castlingKey(int pieceIndex, int coordinate) {
+        switch (coordinate) {
+            case 60: return pieceIndex == BitBoard.WHITE_KING ? whiteKingMoved : 0;
+            case 63: return pieceIndex == BitBoard.WHITE_ROOK ? whiteKingSideRookMoved : 0;
+            case 56: return pieceIndex == BitBoard.WHITE_ROOK ? whiteQueenSideRookMoved : 0;
+            case 4: return pieceIndex == BitBoard.BLACK_KING ? blackKingMoved : 0;
+            case 7: return pieceIndex == BitBoard.BLACK_ROOK ? blackKingSideRookMoved : 0;
+            case 0: return pieceIndex == BitBoard.BLACK_ROOK ? blackQueenSideRookMoved : 0;
+            default: return 0;
+        }
+    }
+
+    /**
+     * calculate the key of a search position from scratch, same as the key of the board the position represent.
+     * the position keeps his key updated on every move, so this is only used to check that key
+     * @param position the position to get his key
+     * @return the key of the position
+     * @see Position#getKey()
+     */
+    public static long getKeyForPosition(Position position) {
+        long key = 0;
 
+        for (int loc = 0; loc < 64; loc++) {
+            int piece = position.getPieceAt(loc);
+            if(piece != Position.NO_PIECE) {
+                key ^= ZobristTable[loc][piece];
+                if (position.isFirstMove(loc))
+                    key ^= castlingKey(piece, loc);
+            }
+        }
+
+        if (position.getTurn() == Color.White)
+            key ^= whiteMove;
+
+        return key;
     }
 }
@@ -3,8 +3,8 @@ package logic.player;
 import logic.Board;
 import logic.Color;
 import logic.Move;
-import logic.Pieces.King;
 import logic.Pieces.Piece;
+import logic.Pieces.PieceType;
 import logic.Pieces.Rook;
 
 import java.util.ArrayList;
@@ -19,23 +19,11 @@ public class BlackPlayer extends Player{
     /**
      * {@inheritDoc}
      */
-    public BlackPlayer(Board board, List<Move> whiteLegalMoves, List<Move> blackLegalMoves, boolean isAi, boolean hasCasteled) {
-        super(board, blackLegalMoves, whiteLegalMoves, isAi, hasCasteled);
+    public BlackPlayer(Board board, boolean isAi, boolean hasCasteled) {
+        super(board, isAi, hasCasteled);
 
     }
 
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    protected Piece findKing(Board board) {
-        for (Piece piece : board.getBlackPieces()) {
-            if(piece.getClass() == King.class)
-                return piece;
-        }
-        return null;
-    }
-
     /**
      * {@inheritDoc}
      * @return
@@ -45,14 +33,6 @@ public class BlackPlayer extends Player{
         return board.getWhitePlayer();
     }
 
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public List<Piece> getActivePieces() {
-        return this.board.getBlackPieces();
-    }
-
     /**
      * {@inheritDoc}
      */
@@ -65,22 +45,22 @@ public class BlackPlayer extends Player{
      * {@inheritDoc}
      */
     @Override
-    public List<Move> calculateCastles(List<Move> playerLegals, List<Move> opponentLegals) {
+    public List<Move> calculateCastles() {
         List<Move> Castles = new ArrayList<>();
-        if(this.king.isFirstMove() && this.king.getPosition() == 4 && Player.getAttacksOnBox(4, opponentLegals).isEmpty())
+        if(this.kingCoordinate == 4 && this.board.isFirstMove(4) && !this.board.isSquareAttacked(4, Color.White))
         {
             // if not occupied
             if(this.board.getPieceAtCoordinate(5) == null && this.board.getPieceAtCoordinate(6) == null)
             {
                 Piece rook = this.board.getPieceAtCoordinate(7);
                 // if rook and first move
-                if(rook != null && rook.getClass() == Rook.class && rook.isFirstMove())
+                if(rook != null && rook.getType() == PieceType.ROOK && this.board.isFirstMove(7))
                 {
                     // if tiles are not under attack
-                    if(Player.getAttacksOnBox(5, opponentLegals).isEmpty()
-                            && Player.getAttacksOnBox(6, opponentLegals).isEmpty())
+                    if(!this.board.isSquareAttacked(5, Color.White)
+                            && !this.board.isSquareAttacked(6, Color.White))
                     {
-                        Castles.add(new Move.KingSideCastleMove(this.board, this.king, 6, (Rook)rook, 7, 5));
+                        Castles.add(new Move.KingSideCastleMove(this.board, Piece.of(PieceType.KING, getColor()), this.kingCoordinate, 6, (Rook)rook, 7, 5));
                     }
                 }
             }
@@ -90,10 +70,10 @@ public class BlackPlayer extends Player{
                     this.board.getPieceAtCoordinate(3) == null)
             {
                 Piece rook = this.board.getPieceAtCoordinate(0);
-                if(rook != null && rook.getClass() == Rook.class && rook.isFirstMove()) {
-                    if (Player.getAttacksOnBox(2, opponentLegals).isEmpty()
-                            && Player.getAttacksOnBox(3, opponentLegals).isEmpty()) {
-                        Castles.add(new Move.QueenSideCastleMove(this.board, this.king, 2, (Rook)rook, 0, 3));
+                if(rook != null && rook.getType() == PieceType.ROOK && this.board.isFirstMove(0)) {
+                    if (!this.board.isSquareAttacked(2, Color.White)
+                            && !this.board.isSquareAttacked(3, Color.White)) {
+                        Castles.add(new Move.QueenSideCastleMove(this.board, Piece.of(PieceType.KING, getColor()), this.kingCoordinate, 2, (Rook)rook, 0, 3));
                     }
                 }
             }
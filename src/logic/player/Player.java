@@ -4,9 +4,8 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import gui.Result;
 import logic.*;
-import logic.Pieces.King;
 import logic.Pieces.Pawn;
-import logic.Pieces.Piece;
+import logic.Pieces.PieceType;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,34 +17,28 @@ import java.util.List;
  */
 public abstract class Player {
     protected Board board;
+    // the legal moves of the player, generated on the first request
     protected List<Move> legalMoves;
-    protected Piece king;
-    protected boolean isInCheck;
+    // the coordinate of the king of the player
+    protected int kingCoordinate;
      // is the player is AI
     public boolean isAi;
     protected boolean hasCastled;
+    // if the player has a legal move, calculated on the first request
+    private Boolean canEscape;
 
     /**
      * A constructor for the Player class
      * @param board the board the player is in
-     * @param legalMoves the legal moves of the player
-     * @param enemyLegalMoves the legal moves of the player's enemy
      * @param isAI is the user choose this Player to be AI
+     * @param hasCastled did the player already castle
      */
-    public Player(Board board, List<Move> legalMoves, List<Move> enemyLegalMoves, boolean isAI, boolean hasCastled) {
+    public Player(Board board, boolean isAI, boolean hasCastled) {
         this.board = board;
-        this.king = findKing(board);
-        this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves, calculateCastles(legalMoves, enemyLegalMoves)));
-        this.isInCheck = !getAttacksOnBox(king.getPosition(), enemyLegalMoves).isEmpty();
         this.isAi = isAI;
         this.hasCastled = hasCastled;
+        this.kingCoordinate = BitBoard.firstCoordinate(board.getBitboard(PieceType.KING.code(getColor())));
     }
-    /**
-     * find the king of the player
-     * @param board the board to look on
-     * @return the king of the player
-     */
-    protected abstract Piece findKing(Board board);
 
     /**
      * get the rival player
@@ -54,25 +47,24 @@ public abstract class Player {
     public abstract Player getRival();
 
     // getter
-    public Piece getKing() {
-        return king;
+    public int getKingCoordinate() {
+        return kingCoordinate;
     }
 
-    // getter
+    /**
+     * get the legal moves of the player, the moves are generated only when they are first asked for
+     * @return the legal moves of the player
+     */
     public List<Move> getLegalMoves() {
-        return legalMoves;
+        if(this.legalMoves == null)
+            this.legalMoves = ImmutableList.copyOf(Iterables.concat(this.board.getAllLegalMoves(this.board.getOccupancy(getColor())), calculateCastles()));
+        return this.legalMoves;
     }
 
     public Board getBoard() {
         return board;
     }
 
-    /**
-     * will get every active piece for the player
-     * @return list of the active pieces of the player
-     */
-    public abstract List<Piece> getActivePieces();
-
 
     public boolean isHasCastled() {
         return hasCastled;
@@ -84,6 +76,9 @@ public abstract class Player {
 
     public void setBoard(Board board) {
         this.board = board;
+        // the moves were generated for the old board
+        this.legalMoves = null;
+        this.canEscape = null;
     }
 
     /**
@@ -101,9 +96,12 @@ public abstract class Player {
         }
         return attackMoves;
     }
-    // getter
+    /**
+     * check if the king of the player is attacked, without generating the moves of the rival
+     * @return true if in check, false otherwise
+     */
     public boolean isInCheck(){
-        return isInCheck;
+        return this.board.isSquareAttacked(this.kingCoordinate, getRival().getColor());
     }
 
     /**
@@ -127,17 +125,21 @@ public abstract class Player {
     // TODO : implement method that check if the king can escape
 
     /**
-     * check if the player has legal moves
+     * check if the player has legal moves, stops on the first legal move without executing it
      * @return true if it has legal moves, false otherwise
      */
     private boolean isCanEscape() {
-        for (Move move : this.legalMoves){
-            MoveTransition transition = makeMove(move);
-            // if the move is done
-            if (transition.getMoveStatus() == Move.MoveStatus.DONE)
-                return true;
+        if (this.canEscape == null) {
+            this.canEscape = false;
+            for (Move move : getLegalMoves()) {
+                // if the move doesn't leave the king in check
+                if (this.board.isKingSafeAfter(move)) {
+                    this.canEscape = true;
+                    break;
+                }
+            }
         }
-        return false;
+        return this.canEscape;
     }
 
     /**
@@ -152,25 +154,32 @@ public abstract class Player {
         if (!isMoveLegal(move)) {
             return new MoveTransition(this.board, this.board, move, Move.MoveStatus.UNDONE);
         }
-        // execute the move to temp board
-        Board transitionBoard = move.executeMove();
-        // get attacks on king
-        List<Move> attacksOnKing = getAttacksOnBox(findKing(transitionBoard).getPosition(), transitionBoard.getTurn().legalMoves);
-        // if in the new board there are any attacks on the king, the king was left in check' and the move is illegal
-        if(!attacksOnKing.isEmpty()) {
+        // if the move leaves the king in check the move is illegal, checked without making the move
+        if(!this.board.isKingSafeAfter(move)) {
             return new MoveTransition(this.board, this.board, move, Move.MoveStatus.LEFT_IN_CHECK);
         }
+        // execute the move to temp board
+        Board transitionBoard = move.executeMove();
         // if the move legal, return the new Transition move
         return new MoveTransition(this.board, transitionBoard, move, Move.MoveStatus.DONE);
     }
 
     /**
-     * check if the move is legal
+     * check if the move is one of the possible moves of the player, without generating all the moves:
+     * a castle is looked for in the castles of the player, and any other move is checked by the attacks of its piece
      * @param move the move to check if legal
      * @return true if move legal, false otherwise
      */
     private boolean isMoveLegal(Move move) {
-        return this.legalMoves.contains(move);
+        if (move == null || move.getPieceMoved() == null || move.getPieceMoved().getColor() != getColor())
+            return false;
+        if (!move.isCastle())
+            return this.board.isPossibleMove(move);
+        for (Move castle : calculateCastles()) {
+            if (move.getBoard() == this.board && castle.getCoordinateMovedTo() == move.getCoordinateMovedTo())
+                return true;
+        }
+        return false;
     }
 
     /**
@@ -181,9 +190,7 @@ public abstract class Player {
 
     /**
      * this find the possible castles for the player
-     * @param playerLegals list of the player legal moves
-     * @param opponentLegals list of the rival player legal moves
      * @return list of the possible caste moves
      */
-    public abstract List<Move> calculateCastles(List<Move> playerLegals, List<Move> opponentLegals);
+    public abstract List<Move> calculateCastles();
 }
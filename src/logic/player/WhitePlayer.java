@@ -3,8 +3,8 @@ package logic.player;
 import logic.Board;
 import logic.Color;
 import logic.Move;
-import logic.Pieces.King;
 import logic.Pieces.Piece;
+import logic.Pieces.PieceType;
 import logic.Pieces.Rook;
 
 import java.util.ArrayList;
@@ -20,23 +20,11 @@ public class WhitePlayer extends Player{
     /**
      * {@inheritDoc}
      */
-    public WhitePlayer(Board board, List<Move> whiteLegalMoves, List<Move> blackLegalMoves, boolean isAi, boolean hasCastled) {
-        super(board, whiteLegalMoves, blackLegalMoves, isAi, hasCastled);
+    public WhitePlayer(Board board, boolean isAi, boolean hasCastled) {
+        super(board, isAi, hasCastled);
     }
 
 
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    protected Piece findKing(Board board) {
-        for (Piece piece : board.getWhitePieces()) {
-            if(piece.getClass() == King.class)
-                return piece;
-        }
-        return null;
-    }
-
     /**
      * {@inheritDoc}
      */
@@ -45,14 +33,6 @@ public class WhitePlayer extends Player{
         return board.getBlackPlayer();
     }
 
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public List<Piece> getActivePieces() {
-        return this.board.getWhitePieces();
-    }
-
     /**
      * {@inheritDoc}
      */
@@ -65,22 +45,22 @@ public class WhitePlayer extends Player{
      * {@inheritDoc}
      */
     @Override
-    public List<Move> calculateCastles(List<Move> playerLegals, List<Move> opponentLegals) {
+    public List<Move> calculateCastles() {
         List<Move> Castles = new ArrayList<>();
-        if(this.king.isFirstMove() && this.king.getPosition() == 60 && Player.getAttacksOnBox(60, opponentLegals).isEmpty())
+        if(this.kingCoordinate == 60 && this.board.isFirstMove(60) && !this.board.isSquareAttacked(60, Color.Black))
         {
             // if not occupied
             if(this.board.getPieceAtCoordinate(61) == null && this.board.getPieceAtCoordinate(62) == null)
             {
                 Piece rook = this.board.getPieceAtCoordinate(63);
                 // if rook and first move
-                if(rook != null && rook.getClass() == Rook.class && rook.isFirstMove())
+                if(rook != null && rook.getType() == PieceType.ROOK && this.board.isFirstMove(63))
                 {
                     // if tiles are not under attack
-                    if(Player.getAttacksOnBox(61, opponentLegals).isEmpty()
-                    && Player.getAttacksOnBox(62, opponentLegals).isEmpty())
+                    if(!this.board.isSquareAttacked(61, Color.Black)
+                    && !this.board.isSquareAttacked(62, Color.Black))
                     {
-                        Castles.add(new Move.KingSideCastleMove(this.board, this.king, 62, (Rook) rook, 63, 61));
+                        Castles.add(new Move.KingSideCastleMove(this.board, Piece.of(PieceType.KING, getColor()), this.kingCoordinate, 62, (Rook) rook, 63, 61));
                     }
                 }
             }
@@ -90,10 +70,10 @@ public class WhitePlayer extends Player{
                     this.board.getPieceAtCoordinate(57) == null)
             {
                 Piece rook = this.board.getPieceAtCoordinate(56);
-                if(rook != null && rook.getClass() == Rook.class && rook.isFirstMove()) {
-                    if (Player.getAttacksOnBox(59, opponentLegals).isEmpty()
-                            && Player.getAttacksOnBox(58, opponentLegals).isEmpty()) {
-                        Castles.add(new Move.QueenSideCastleMove(this.board, this.king, 58, (Rook)rook, 56, 59));
+                if(rook != null && rook.getType() == PieceType.ROOK && this.board.isFirstMove(56)) {
+                    if (!this.board.isSquareAttacked(59, Color.Black)
+                            && !this.board.isSquareAttacked(58, Color.Black)) {
+                        Castles.add(new Move.QueenSideCastleMove(this.board, Piece.of(PieceType.KING, getColor()), this.kingCoordinate, 58, (Rook)rook, 56, 59));
                     }
                 }
             }
@@ -0,0 +1,30 @@
+package logic;
+
+import logic.Pieces.Piece;
+import logic.Pieces.PieceType;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * this class tests the adapters of the board over its bitboards
+ * @see Board
+ */
+public class BoardTest {
+
+    @Test
+    public void piecesOfThePlayersAreAdaptedFromTheBitboards() {
+        Board board = Board.createNewBoard(false, false).build();
+        List<Piece> white = board.getWhitePieces();
+        List<Piece> black = board.getBlackPieces();
+        assertEquals(white.size(), 16);
+        assertEquals(black.size(), 16);
+        // the pieces are in the order of their coordinates, coordinate 0 is a8
+        assertEquals(black.get(0), Piece.of(PieceType.ROOK, Color.Black));
+        assertEquals(black.get(4), Piece.of(PieceType.KING, Color.Black));
+        assertEquals(white.get(0), Piece.of(PieceType.PAWN, Color.White));
+        assertEquals(white.get(12), Piece.of(PieceType.KING, Color.White));
+    }
+}
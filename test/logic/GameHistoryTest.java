@@ -0,0 +1,71 @@
+package logic;
+
+import gui.Result;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * this class tests that the boards of a game keep their history when other boards branch from the same board
+ * @see GameHistory
+ */
+public class GameHistoryTest {
+
+    // make a move on a board by its coordinates
+    private static Board move(Board board, int from, int to) {
+        return Move.MoveFactory.createMove(board, from, to).executeMove();
+    }
+
+    @Test
+    public void siblingBoardKeepsTheMovesOfTheFirstBoard() {
+        Board board = Board.createNewBoard(false, false).build();
+        Board first = move(board, 52, 36);
+        Board sibling = move(board, 51, 35);
+        assertEquals(first.lastNMoves(1).get(0), first.getLastMove());
+        assertEquals(sibling.lastNMoves(1).get(0), sibling.getLastMove());
+        assertNotEquals(first.getLastMove(), sibling.getLastMove());
+        // the first board is continued after its sibling was made
+        Board continued = move(first, 12, 28);
+        assertEquals(continued.lastNMoves(2).get(1), first.getLastMove());
+        assertEquals(continued.getHistory().getKey(0), board.getKey());
+        assertEquals(continued.getHistory().getKey(1), first.getKey());
+    }
+
+    @Test
+    public void trialMovesDontChangeTheRepetitionsOfTheGame() {
+        // the knights go out and back twice, the third time the start position repeats 3 times
+        Board board = Board.createNewBoard(false, false).build();
+        int[][] moves = {{62, 45}, {6, 21}, {45, 62}, {21, 6}};
+        for (int round = 0; round < 3; round++) {
+            for (int[] move : moves) {
+                Board previous = board;
+                board = move(board, move[0], move[1]);
+                // trial moves on the board before the move, like the highlight of the possible moves
+                for (Move trial : previous.getTurn().getLegalMoves())
+                    trial.executeMove();
+            }
+        }
+        assertEquals(board.gameResult(), Result.DRAW);
+    }
+
+    @Test
+    public void boardsOfALongGameKeepTheirHistory() {
+        Board board = Board.createNewBoard(false, false).build();
+        int[][] kingSideKnights = {{62, 45}, {6, 21}, {45, 62}, {21, 6}};
+        int[][] queenSideKnights = {{57, 42}, {1, 18}, {42, 57}, {18, 1}};
+        Board kept = null;
+        long[] keptKeys = new long[10];
+        for (int i = 0; i < 200; i++) {
+            int[] move = i < 40 ? kingSideKnights[i % 4] : queenSideKnights[i % 4];
+            board = move(board, move[0], move[1]);
+            if (i == 9) {
+                kept = board;
+                for (int ply = 0; ply < keptKeys.length; ply++)
+                    keptKeys[ply] = kept.getHistory().getKey(ply);
+            }
+        }
+        for (int ply = 0; ply < keptKeys.length; ply++)
+            assertEquals(kept.getHistory().getKey(ply), keptKeys[ply]);
+        assertEquals(kept.lastNMoves(1).get(0), kept.getLastMove());
+    }
+}
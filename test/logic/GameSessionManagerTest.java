@@ -0,0 +1,56 @@
+package logic;
+
+import logic.player.AI.SearchEngine;
+import logic.player.AI.TranspositionTable;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+/**
+ * this class tests the memory guard of the tables of the games, and the settings of the searches of the pool
+ * @see GameSessionManager
+ */
+public class GameSessionManagerTest {
+
+    @Test
+    public void gameWhoseTableDoesntFitIsNotStarted() {
+        // a table bigger than the memory of the program
+        int hashMegabytes = (int) (Runtime.getRuntime().maxMemory() >> 20) + 1;
+        try (GameSessionManager manager = new GameSessionManager(1, GameSessionManager.TablePolicy.PER_SESSION, hashMegabytes)) {
+            Board board = Board.createNewBoard(true, true).build();
+            try {
+                manager.start(board, 1);
+                fail("the game was started without memory for its table");
+            } catch (IllegalStateException e) {
+                assertEquals(manager.getActiveSessions(), 0);
+            }
+        }
+    }
+
+    // the first board of a game of an AI white player against a player who doesn't move, the game is cancelled
+    private static Board firstBoard(GameSessionManager manager, int depth, long maxTime) throws Exception {
+        CompletableFuture<Board> first = new CompletableFuture<>();
+        GameSession session = manager.start(Board.createNewBoard(true, false).build(), depth, maxTime, first::complete);
+        try {
+            return first.get(60, TimeUnit.SECONDS);
+        } finally {
+            session.cancel();
+        }
+    }
+
+    @Test
+    public void depthSearchAfterATimedSearchIsNotStoppedByItsTime() throws Exception {
+        // one search worker, so both games are searched by the same engine
+        try (GameSessionManager manager = new GameSessionManager(1, GameSessionManager.TablePolicy.PER_SESSION, 1)) {
+            assertNotNull(firstBoard(manager, 0, 5));
+            Board board = firstBoard(manager, 4, 5);
+            Move expected = new SearchEngine(new TranspositionTable(1), 1)
+                    .MiniMaxAB(Board.createNewBoard(true, false).build(), 4);
+            assertEquals(MoveEncoding.getFrom(board.getLastMove()), expected.getCoordinateMovedFrom());
+            assertEquals(MoveEncoding.getTo(board.getLastMove()), expected.getCoordinateMovedTo());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package logic.player.AI;
+
+import logic.Board;
+import logic.Move;
+import logic.MoveEncoding;
+import logic.Position;
+import org.testng.annotations.Test;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.*;
+
+/**
+ * this class tests that the entry points of the engine start their own search, and the threads of the engine
+ * @see SearchEngine
+ */
+public class SearchEngineTest {
+    private static final double WINDOW = 12345;
+
+    // the coordinates of a move, the moves of the searches are different objects
+    private static String coordinates(Move move) {
+        return move.getCoordinateMovedFrom() + "-" + move.getCoordinateMovedTo();
+    }
+
+    // the helper threads that are alive
+    private static Set<Thread> helperThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("search helper") && thread.isAlive())
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    public void alphaBetaOfAFreshEngineSearches() {
+        SearchEngine engine = new SearchEngine(new TranspositionTable(1), 1);
+        Position position = new Position(Board.createNewBoard(false, false).build());
+        double value = engine.alphaBetaTT(position, 4, -WINDOW, WINDOW, 0);
+        assertNotEquals(value, -WINDOW);
+        assertTrue(Math.abs(value) < 1);
+    }
+
+    @Test
+    public void miniMaxOfAFreshEngineFindsAMove() {
+        SearchEngine engine = new SearchEngine(new TranspositionTable(1), 1);
+        Position position = new Position(Board.createNewBoard(false, false).build());
+        assertNotEquals(engine.MiniMaxAB(position, 3, MoveEncoding.NO_MOVE), MoveEncoding.NO_MOVE);
+    }
+
+    @Test
+    public void positionSearchAfterATimeoutSearches() {
+        SearchEngine engine = new SearchEngine(new TranspositionTable(1), 1);
+        Board board = Board.createNewBoard(false, false).build();
+        engine.setMaxTime(50);
+        engine.IterativeDeepening(board);
+        // the time of the last search is up, the next search has its own time
+        engine.setMaxTime(SearchEngine.DEFAULT_MAX_TIME);
+        Position position = new Position(board);
+        assertNotEquals(engine.MiniMaxAB(position, 3, MoveEncoding.NO_MOVE), MoveEncoding.NO_MOVE);
+        assertNotEquals(engine.alphaBetaTT(position, 3, -WINDOW, WINDOW, 0), -WINDOW);
+    }
+
+    @Test
+    public void youngBrothersWaitGivesTheSameMoveWithAnyThreads() {
+        Board board = Board.createNewBoard(false, false).build();
+        board = Move.MoveFactory.createMove(board, 52, 36).executeMove();
+        String[] moves = new String[3];
+        for (int i = 0; i < moves.length; i++) {
+            try (SearchEngine engine = new SearchEngine(new TranspositionTable(1), 2 + i)) {
+                engine.setParallelMode(SearchEngine.ParallelMode.YOUNG_BROTHERS_WAIT);
+                moves[i] = coordinates(engine.MiniMaxAB(board, 4));
+                // the split workers of the threads are reused by the next search
+                assertEquals(coordinates(engine.MiniMaxAB(board, 4)), moves[i]);
+            }
+        }
+        assertEquals(moves[1], moves[0]);
+        assertEquals(moves[2], moves[0]);
+    }
+
+    @Test
+    public void helperThreadsAreReusedUntilTheEngineIsClosed() {
+        Set<Thread> before = helperThreads();
+        Board board = Board.createNewBoard(false, false).build();
+        SearchEngine engine = new SearchEngine(new TranspositionTable(1), 3);
+        Set<Thread> helpers = helperThreads();
+        helpers.removeAll(before);
+        assertEquals(helpers.size(), 2);
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(engine.MiniMaxAB(board, 3));
+            Set<Thread> after = helperThreads();
+            after.removeAll(before);
+            assertEquals(after, helpers);
+        }
+        engine.close();
+        for (Thread helper : helpers)
+            assertFalse(helper.isAlive());
+        // a closed engine searches on the calling thread
+        assertNotNull(engine.MiniMaxAB(board, 3));
+    }
+
+    @Test
+    public void stopBeforeTheSearchStopsTheSearch() {
+        SearchEngine engine = new SearchEngine(new TranspositionTable(1), 1);
+        Board board = Board.createNewBoard(false, false).build();
+        engine.stop();
+        long start = System.currentTimeMillis();
+        engine.MiniMaxAB(board, 8);
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        // the stop is used by one search
+        assertNotNull(engine.MiniMaxAB(board, 2));
+        AtomicBoolean stopSignal = new AtomicBoolean();
+        engine.setStopSignal(stopSignal);
+        stopSignal.set(true);
+        start = System.currentTimeMillis();
+        engine.MiniMaxAB(board, 8);
+        assertTrue(System.currentTimeMillis() - start < 1000);
+    }
+
+    @Test
+    public void statisticsOfAPositionSearchAreOfThatSearch() {
+        SearchEngine engine = new SearchEngine(new TranspositionTable(1), 1);
+        Position position = new Position(Board.createNewBoard(false, false).build());
+        engine.MiniMaxAB(position, 3, MoveEncoding.NO_MOVE);
+        long nodes = engine.getLastNodes();
+        assertTrue(nodes > 0);
+        assertEquals(engine.getLastDepth(), 3);
+        // the same search on an empty table searches the same positions
+        engine.setHashSize(1);
+        engine.MiniMaxAB(position, 3, MoveEncoding.NO_MOVE);
+        assertEquals(engine.getLastNodes(), nodes);
+    }
+
+    @Test
+    public void iterativeDeepeningThatIsStoppedAtOnceGivesALegalMove() {
+        SearchEngine engine = new SearchEngine(new TranspositionTable(1), 1);
+        Board board = Board.createNewBoard(false, false).build();
+        engine.stop();
+        Move move = engine.IterativeDeepening(board);
+        assertNotNull(move);
+        assertEquals(board.getTurn().makeMove(move).getMoveStatus(), Move.MoveStatus.DONE);
+    }
+}
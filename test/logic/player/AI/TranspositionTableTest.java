@@ -0,0 +1,110 @@
+package logic.player.AI;
+
+import logic.MoveEncoding;
+import org.testng.annotations.Test;
+
+import static logic.player.AI.CachedData.Type.*;
+import static org.testng.Assert.*;
+
+/**
+ * this class tests the replacement of the entries of the transposition table
+ * @see TranspositionTable
+ */
+public class TranspositionTableTest {
+    private static final long KEY = 0x9E3779B97F4A7C15L;
+    private static final int MOVE = MoveEncoding.create(52, 36, MoveEncoding.PAWN_MOVE);
+
+    @Test
+    public void quiescenceStoreKeepsTheDeeperEntryAndItsMove() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(KEY, 4, 0.5, LOWERBOUND, MOVE);
+        table.store(KEY, 0, 0.25, UPPERBOUND, MoveEncoding.NO_MOVE);
+        CachedData data = new CachedData();
+        assertTrue(table.probe(KEY, data));
+        assertEquals(data.getDepth(), 4);
+        assertEquals(data.getType(), LOWERBOUND);
+        assertEquals(data.getBestMove(), MOVE);
+    }
+
+    @Test
+    public void exactValueOfAShallowerSearchKeepsTheDeeperEntry() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(KEY, 4, 0.5, LOWERBOUND, MOVE);
+        table.store(KEY, 0, 0.25, EXACT_VALUE, MoveEncoding.NO_MOVE);
+        CachedData data = new CachedData();
+        assertTrue(table.probe(KEY, data));
+        assertEquals(data.getDepth(), 4);
+        assertEquals(data.getType(), LOWERBOUND);
+        assertEquals(data.getBestMove(), MOVE);
+    }
+
+    @Test
+    public void shallowerSearchReplacesOnlyTheMove() {
+        TranspositionTable table = new TranspositionTable(1);
+        int otherMove = MoveEncoding.create(62, 45, MoveEncoding.MAJOR_MOVE);
+        table.store(KEY, 4, 0.5, LOWERBOUND, MOVE);
+        table.store(KEY, 2, 0.25, EXACT_VALUE, otherMove);
+        CachedData data = new CachedData();
+        assertTrue(table.probe(KEY, data));
+        assertEquals(data.getDepth(), 4);
+        assertEquals(data.getType(), LOWERBOUND);
+        assertEquals(data.getScore(), 0.5, 0);
+        assertEquals(data.getBestMove(), otherMove);
+    }
+
+    @Test
+    public void exactValueOfTheSameDepthReplacesABound() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(KEY, 4, 0.5, LOWERBOUND, MOVE);
+        table.store(KEY, 4, 0.25, EXACT_VALUE, MoveEncoding.NO_MOVE);
+        CachedData data = new CachedData();
+        assertTrue(table.probe(KEY, data));
+        assertEquals(data.getType(), EXACT_VALUE);
+        assertEquals(data.getScore(), 0.25, 0);
+        assertEquals(data.getBestMove(), MOVE);
+        // a bound of the same depth doesn't replace the exact value
+        table.store(KEY, 4, 0.75, UPPERBOUND, MoveEncoding.NO_MOVE);
+        assertTrue(table.probe(KEY, data));
+        assertEquals(data.getType(), EXACT_VALUE);
+        assertEquals(data.getScore(), 0.25, 0);
+    }
+
+    @Test
+    public void entryOfAnOldSearchIsReplaced() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(KEY, 4, 0.5, LOWERBOUND, MOVE);
+        table.newSearch();
+        table.store(KEY, 2, 0.25, UPPERBOUND, MoveEncoding.NO_MOVE);
+        CachedData data = new CachedData();
+        assertTrue(table.probe(KEY, data));
+        assertEquals(data.getDepth(), 2);
+        assertEquals(data.getType(), UPPERBOUND);
+        assertEquals(data.getBestMove(), MOVE);
+    }
+
+    @Test
+    public void positionsOfTheSameBucketAreNotConfused() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(KEY, 4, 0.5, EXACT_VALUE, MOVE);
+        // the whole key is checked, not only the bits the index of the bucket doesn't use
+        assertFalse(table.probe(KEY ^ (1L << 30), new CachedData()));
+        assertFalse(table.probe(KEY ^ (1L << 63), new CachedData()));
+    }
+
+    @Test
+    public void boundsAreRoundedToTheirSafeSide() {
+        TranspositionTable table = new TranspositionTable(1);
+        CachedData data = new CachedData();
+        double score = 0.1234567;
+        table.store(KEY, 4, score, LOWERBOUND, MOVE);
+        assertTrue(table.probe(KEY, data));
+        assertTrue(data.getScore() <= score);
+        table.newSearch();
+        table.store(KEY, 4, -score, UPPERBOUND, MOVE);
+        assertTrue(table.probe(KEY, data));
+        assertTrue(data.getScore() >= -score);
+        table.store(KEY, 4, -PositionEvaluation.MATE + 3, EXACT_VALUE, MOVE);
+        assertTrue(table.probe(KEY, data));
+        assertEquals(data.getScore(), -PositionEvaluation.MATE + 3, 0);
+    }
+}
@@ -0,0 +1,70 @@
+package logic.player;
+
+import logic.Board;
+import logic.Color;
+import logic.Move;
+import logic.MoveTransition;
+import logic.Pieces.Piece;
+import logic.Pieces.PieceType;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * this class tests the legality check of the moves a player makes
+ * @see Player#makeMove(Move)
+ */
+public class PlayerTest {
+
+    // make a move on a board by its coordinates
+    private static Board move(Board board, int from, int to) {
+        return Move.MoveFactory.createMove(board, from, to).executeMove();
+    }
+
+    @Test
+    public void possibleMovesOfAGameAreMade() {
+        Board board = Board.createNewBoard(false, false).build();
+        for (int ply = 0; ply < 40 && !board.getTurn().getLegalMoves().isEmpty(); ply++) {
+            Board next = null;
+            for (Move move : board.getTurn().getLegalMoves()) {
+                MoveTransition transition = board.getTurn().makeMove(move);
+                assertEquals(transition.getMoveStatus() == Move.MoveStatus.DONE, board.isKingSafeAfter(move));
+                if (next == null && transition.getMoveStatus() == Move.MoveStatus.DONE)
+                    next = transition.getToBoard();
+            }
+            if (next == null)
+                break;
+            board = next;
+        }
+    }
+
+    @Test
+    public void impossibleMovesAreNotMade() {
+        Board board = Board.createNewBoard(false, false).build();
+        Player white = board.getTurn();
+        Piece knight = Piece.of(PieceType.KNIGHT, Color.White);
+        // a knight doesn't move like a rook
+        assertEquals(white.makeMove(new Move.MajorMove(board, knight, 62, 46)).getMoveStatus(), Move.MoveStatus.UNDONE);
+        // a move of another board
+        Board other = Board.createNewBoard(false, false).build();
+        assertEquals(white.makeMove(Move.MoveFactory.createMove(other, 62, 45)).getMoveStatus(), Move.MoveStatus.UNDONE);
+        // a move of the other player
+        assertEquals(white.makeMove(new Move.MajorMove(board, Piece.of(PieceType.KNIGHT, Color.Black), 6, 21))
+                .getMoveStatus(), Move.MoveStatus.UNDONE);
+        // an attack on an empty coordinate
+        assertEquals(white.makeMove(new Move.AttackMove(board, knight, 62, 45, null)).getMoveStatus(), Move.MoveStatus.UNDONE);
+        assertEquals(white.makeMove(Move.MoveFactory.getNullMove()).getMoveStatus(), Move.MoveStatus.UNDONE);
+        assertEquals(white.makeMove(Move.MoveFactory.createMove(board, 62, 45)).getMoveStatus(), Move.MoveStatus.DONE);
+    }
+
+    @Test
+    public void castleOfThePlayerIsMade() {
+        Board board = Board.createNewBoard(false, false).build();
+        int[][] moves = {{52, 36}, {12, 28}, {62, 45}, {1, 18}, {61, 34}, {5, 26}};
+        for (int[] move : moves)
+            board = move(board, move[0], move[1]);
+        Move castle = Move.MoveFactory.createMove(board, 60, 62);
+        assertTrue(castle.isCastle());
+        assertEquals(board.getTurn().makeMove(castle).getMoveStatus(), Move.MoveStatus.DONE);
+    }
+}